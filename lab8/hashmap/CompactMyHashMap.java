@@ -0,0 +1,278 @@
+package hashmap;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ *  A chaining hash map with no Node or bucket objects. Entries live densely
+ *  in parallel arrays, keys[0..size), values, hashes and next, and the chain
+ *  for each bucket is a list of entry indices threaded through next, starting
+ *  at heads[bucket]. An entry costs two references and two ints.
+ *
+ *  Each entry keeps its mixed hash. A lookup compares hashes before calling
+ *  equals, so a long String key is only compared against keys with the same
+ *  hash, and a resize rebuilds the chains from the stored hashes without
+ *  calling hashCode again. remove() moves the last entry into the hole, so
+ *  the entries stay dense and iteration walks straight through the arrays.
+ *
+ *  The table length is always a power of two. Assumes null keys will never be
+ *  inserted, and does not resize down upon remove().
+ */
+public class CompactMyHashMap<K, V> implements Map61B<K, V> {
+    private static final int DEFAULT_INITIAL_SIZE = 16;
+    private static final double DEFAULT_MAX_LOAD = 0.75;
+    private static final int MAXIMUM_SIZE = 1 << 30;
+    /** Marks the end of a chain, in heads and next. */
+    private static final int NONE = -1;
+
+    /* Instance Variables */
+    /** Index of the first entry in each bucket's chain, or NONE. */
+    private int[] heads;
+    private Object[] keys;
+    private Object[] values;
+    /** The mixed hash of each entry's key. */
+    private int[] hashes;
+    /** Index of the next entry in the same chain, or NONE. */
+    private int[] next;
+    private int size;
+    private final double maxLoad;
+
+    /** Constructors */
+    public CompactMyHashMap() {
+        this(DEFAULT_INITIAL_SIZE, DEFAULT_MAX_LOAD);
+    }
+
+    public CompactMyHashMap(int initialSize) {
+        this(initialSize, DEFAULT_MAX_LOAD);
+    }
+
+    /**
+     * CompactMyHashMap constructor that creates a table of initialSize
+     * buckets, rounded up to a power of two. The load factor
+     * (# items / # buckets) should always be <= maxLoad.
+     *
+     * @param initialSize initial number of buckets
+     * @param maxLoad maximum load factor
+     */
+    public CompactMyHashMap(int initialSize, double maxLoad) {
+        if (initialSize < 1) {
+            throw new IllegalArgumentException("initialSize must be positive: " + initialSize);
+        }
+        if (!(maxLoad > 0)) {
+            throw new IllegalArgumentException("maxLoad must be positive: " + maxLoad);
+        }
+        this.maxLoad = maxLoad;
+        this.heads = newHeads(tableSizeFor(initialSize));
+        allocateEntries(capacityFor(heads.length));
+    }
+
+    /** Returns the smallest power of two that is at least n, capped at MAXIMUM_SIZE. */
+    private static int tableSizeFor(int n) {
+        if (n >= MAXIMUM_SIZE) {
+            return MAXIMUM_SIZE;
+        }
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    /** Returns how many entries a table of tableSize buckets holds before it grows. */
+    private int capacityFor(int tableSize) {
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE - 8, (long) (tableSize * maxLoad)));
+    }
+
+    /** Scrambles every bit of h into the low bits (the murmur3 finalizer). */
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static int[] newHeads(int tableSize) {
+        int[] table = new int[tableSize];
+        Arrays.fill(table, NONE);
+        return table;
+    }
+
+    private void allocateEntries(int capacity) {
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        hashes = new int[capacity];
+        next = new int[capacity];
+    }
+
+    /** Returns the index of the entry holding key, whose mixed hash is h, or NONE. */
+    private int find(Object key, int h) {
+        for (int i = heads[h & (heads.length - 1)]; i != NONE; i = next[i]) {
+            if (hashes[i] == h && key.equals(keys[i])) {
+                return i;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Doubles the table, up to MAXIMUM_SIZE, and grows the entry arrays to
+     * match. The chains are rebuilt from the stored hashes; entry indices do
+     * not change.
+     */
+    private void resize() {
+        int tableSize = heads.length < MAXIMUM_SIZE ? heads.length * 2 : heads.length;
+        int capacity = Math.max(capacityFor(tableSize), size + 1);
+        keys = Arrays.copyOf(keys, capacity);
+        values = Arrays.copyOf(values, capacity);
+        hashes = Arrays.copyOf(hashes, capacity);
+        next = new int[capacity];
+        heads = newHeads(tableSize);
+        int mask = tableSize - 1;
+        for (int i = 0; i < size; i += 1) {
+            int b = hashes[i] & mask;
+            next[i] = heads[b];
+            heads[b] = i;
+        }
+    }
+
+    /** Points whichever link now points at entry i, in heads or next, at entry to. */
+    private void relink(int i, int to) {
+        int b = hashes[i] & (heads.length - 1);
+        if (heads[b] == i) {
+            heads[b] = to;
+            return;
+        }
+        int j = heads[b];
+        while (next[j] != i) {
+            j = next[j];
+        }
+        next[j] = to;
+    }
+
+    /**
+     * Unlinks entry i, then moves the last entry into its place so that the
+     * entries stay dense.
+     */
+    private void deleteEntry(int i) {
+        relink(i, next[i]);
+        int last = size - 1;
+        if (i != last) {
+            relink(last, i);
+            keys[i] = keys[last];
+            values[i] = values[last];
+            hashes[i] = hashes[last];
+            next[i] = next[last];
+        }
+        keys[last] = null;
+        values[last] = null;
+        size -= 1;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(heads, NONE);
+        Arrays.fill(keys, 0, size, null);
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return find(key, spread(key.hashCode())) != NONE;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        int i = find(key, spread(key.hashCode()));
+        return i == NONE ? null : (V) values[i];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        int h = spread(key.hashCode());
+        int i = find(key, h);
+        if (i != NONE) {
+            values[i] = value;
+            return;
+        }
+        if (size == keys.length) {
+            resize();
+        }
+        int b = h & (heads.length - 1);
+        keys[size] = key;
+        values[size] = value;
+        hashes[size] = h;
+        next[size] = heads[b];
+        heads[b] = size;
+        size += 1;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        Set<K> set = new HashSet<>();
+        for (K key : this) {
+            set.add(key);
+        }
+        return set;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(K key) {
+        int i = find(key, spread(key.hashCode()));
+        if (i == NONE) {
+            return null;
+        }
+        V old = (V) values[i];
+        deleteEntry(i);
+        return old;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(K key, V value) {
+        int i = find(key, spread(key.hashCode()));
+        if (i == NONE) {
+            return null;
+        }
+        V old = (V) values[i];
+        if (value == null ? old != null : !value.equals(old)) {
+            return null;
+        }
+        deleteEntry(i);
+        return old;
+    }
+
+    @Override
+    public Iterator<K> iterator() {
+        return new KeyIterator();
+    }
+
+    /** Walks the entries in index order, which is insertion order until a remove. */
+    private class KeyIterator implements Iterator<K> {
+        private int i = 0;
+
+        @Override
+        public boolean hasNext() {
+            return i < size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public K next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            K key = (K) keys[i];
+            i += 1;
+            return key;
+        }
+    }
+}
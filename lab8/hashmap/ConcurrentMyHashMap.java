@@ -0,0 +1,423 @@
+package hashmap;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ *  A hash table-backed Map that many threads can share without an outer lock.
+ *
+ *  Buckets are chains of nodes whose value and next fields are volatile, so
+ *  get() and containsKey() never lock. Writers lock one of a fixed set of
+ *  stripes: bucket i belongs to stripe i % stripes. Puts and removes that land
+ *  in different stripes therefore run in parallel.
+ *
+ *  The table length is a power of two and a multiple of the stripe count.
+ *  When it doubles, old bucket i splits into new buckets i and i + oldLength,
+ *  and both belong to the same stripe as before. That lets a resize proceed
+ *  one stripe at a time, under that stripe's lock, while the other stripes
+ *  stay open for writes. Whichever thread triggers a resize, and any writer
+ *  that arrives while one is running, claims stripes and migrates them until
+ *  none are left. Each migrated bucket is replaced by a forwarding node that
+ *  sends readers and writers on to the new table. Nodes are copied rather
+ *  than relinked, so a reader already partway down an old chain still sees
+ *  a consistent chain.
+ *
+ *  The map grows once its total size passes maxLoad times the table length.
+ *  Hashes go through a full bit mixer before indexing, since both the
+ *  bucket and the stripe come from their low bits.
+ *
+ *  Null keys are rejected. size() and iteration are weakly consistent: they
+ *  reflect some state of the map during the call, not one frozen moment.
+ *  Does not resize down upon remove().
+ */
+public class ConcurrentMyHashMap<K, V> implements Map61B<K, V> {
+    private static final int DEFAULT_INITIAL_SIZE = 16;
+    private static final double DEFAULT_MAX_LOAD = 0.75;
+    private static final int DEFAULT_STRIPES = 64;
+
+    /** A key/value pair in a bucket chain. */
+    private static class Node<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        volatile Node<K, V> next;
+
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    /** Left in an old bucket once its nodes have moved to table. */
+    private static final class Forward<K, V> extends Node<K, V> {
+        final AtomicReferenceArray<Node<K, V>> table;
+
+        Forward(AtomicReferenceArray<Node<K, V>> table) {
+            super(0, null, null, null);
+            this.table = table;
+        }
+    }
+
+    /** One doubling of the table, shared by every thread that helps with it. */
+    private static final class Resize<K, V> {
+        final AtomicReferenceArray<Node<K, V>> from;
+        final AtomicReferenceArray<Node<K, V>> to;
+        final Forward<K, V> forward;
+        /** The next stripe for a helper to claim. */
+        final AtomicInteger nextStripe = new AtomicInteger();
+        final AtomicInteger stripesDone = new AtomicInteger();
+
+        Resize(AtomicReferenceArray<Node<K, V>> from) {
+            this.from = from;
+            this.to = new AtomicReferenceArray<>(from.length() * 2);
+            this.forward = new Forward<>(to);
+        }
+    }
+
+    /* Instance Variables */
+    private volatile AtomicReferenceArray<Node<K, V>> table;
+    /** The resize in progress, or null. Changed only while holding resizeMonitor. */
+    private volatile Resize<K, V> resizing;
+    private final Object resizeMonitor = new Object();
+    /** Bucket i is written only while holding stripes[i & stripeMask]. */
+    private final ReentrantLock[] stripes;
+    private final int stripeMask;
+    private final double maxLoad;
+    /** The number of entries, updated while holding the entry's stripe lock. */
+    private final LongAdder count = new LongAdder();
+
+    /** Constructors */
+    public ConcurrentMyHashMap() {
+        this(DEFAULT_INITIAL_SIZE, DEFAULT_MAX_LOAD, DEFAULT_STRIPES);
+    }
+
+    public ConcurrentMyHashMap(int initialSize) {
+        this(initialSize, DEFAULT_MAX_LOAD, DEFAULT_STRIPES);
+    }
+
+    public ConcurrentMyHashMap(int initialSize, double maxLoad) {
+        this(initialSize, maxLoad, DEFAULT_STRIPES);
+    }
+
+    /**
+     * ConcurrentMyHashMap constructor that creates a backing array of at
+     * least initialSize buckets, guarded by stripes locks (rounded up to a
+     * power of two). The load factor is kept <= maxLoad.
+     *
+     * @param initialSize initial size of backing array
+     * @param maxLoad maximum load factor
+     * @param stripes number of locks; about the number of writing threads
+     */
+    public ConcurrentMyHashMap(int initialSize, double maxLoad, int stripes) {
+        if (initialSize < 1) {
+            throw new IllegalArgumentException("initialSize must be positive: " + initialSize);
+        }
+        if (!(maxLoad > 0)) {
+            throw new IllegalArgumentException("maxLoad must be positive: " + maxLoad);
+        }
+        if (stripes < 1 || stripes > (1 << 16)) {
+            throw new IllegalArgumentException("stripes must be in [1, 65536]: " + stripes);
+        }
+        this.maxLoad = maxLoad;
+        this.stripes = new ReentrantLock[tableSizeFor(stripes)];
+        for (int i = 0; i < this.stripes.length; i += 1) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.stripeMask = this.stripes.length - 1;
+        this.table = new AtomicReferenceArray<>(
+                Math.max(tableSizeFor(initialSize), this.stripes.length));
+    }
+
+    /** Returns the smallest power of two that is >= n. */
+    private static int tableSizeFor(int n) {
+        int size = Integer.highestOneBit(Math.max(n, 2) - 1) << 1;
+        if (size <= 0) {
+            throw new IllegalArgumentException("table too large: " + n);
+        }
+        return size;
+    }
+
+    /** Scrambles every bit of h into the low bits (the murmur3 finalizer). */
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static int indexFor(int hash, AtomicReferenceArray<?> tab) {
+        return hash & (tab.length() - 1);
+    }
+
+    /** Returns the node holding key, following forwards, without locking. */
+    private Node<K, V> findNode(Object key) {
+        int h = spread(key.hashCode());
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        Node<K, V> node = tab.get(indexFor(h, tab));
+        while (node instanceof Forward) {
+            tab = ((Forward<K, V>) node).table;
+            node = tab.get(indexFor(h, tab));
+        }
+        for (; node != null; node = node.next) {
+            if (node.hash == h && key.equals(node.key)) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the table that holds bucket h for a writer that already holds
+     * h's stripe lock: the current table, or the one its bucket forwards to.
+     * With the stripe locked, that bucket cannot be forwarded again until
+     * the lock is released.
+     */
+    private AtomicReferenceArray<Node<K, V>> lockedTable(int h) {
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        Node<K, V> head = tab.get(indexFor(h, tab));
+        while (head instanceof Forward) {
+            tab = ((Forward<K, V>) head).table;
+            head = tab.get(indexFor(h, tab));
+        }
+        return tab;
+    }
+
+    @Override
+    public void clear() {
+        synchronized (resizeMonitor) {
+            for (ReentrantLock s : stripes) {
+                s.lock();
+            }
+            try {
+                clearTable(table);
+                Resize<K, V> r = resizing;
+                if (r != null) {
+                    clearTable(r.to);
+                }
+                count.reset();
+            } finally {
+                for (ReentrantLock s : stripes) {
+                    s.unlock();
+                }
+            }
+        }
+    }
+
+    /** Empties every bucket of tab that has not been forwarded. */
+    private static <K, V> void clearTable(AtomicReferenceArray<Node<K, V>> tab) {
+        for (int i = 0; i < tab.length(); i += 1) {
+            if (!(tab.get(i) instanceof Forward)) {
+                tab.set(i, null);
+            }
+        }
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return findNode(key) != null;
+    }
+
+    @Override
+    public V get(K key) {
+        Node<K, V> node = findNode(key);
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(count.sum(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void put(K key, V value) {
+        int h = spread(key.hashCode());
+        ReentrantLock stripe = stripes[h & stripeMask];
+        AtomicReferenceArray<Node<K, V>> tab;
+        boolean grow = false;
+        stripe.lock();
+        try {
+            tab = lockedTable(h);
+            int i = indexFor(h, tab);
+            Node<K, V> head = tab.get(i);
+            for (Node<K, V> node = head; node != null; node = node.next) {
+                if (node.hash == h && key.equals(node.key)) {
+                    node.value = value;
+                    return;
+                }
+            }
+            tab.set(i, new Node<>(h, key, value, head));
+            count.increment();
+            grow = count.sum() > tab.length() * maxLoad;
+        } finally {
+            stripe.unlock();
+        }
+        Resize<K, V> r = resizing;
+        if (grow) {
+            resize(tab);
+        } else if (r != null) {
+            help(r);
+        }
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return new HashSet<>(keys());
+    }
+
+    @Override
+    public V remove(K key) {
+        return removeNode(key, null, false);
+    }
+
+    @Override
+    public V remove(K key, V value) {
+        return removeNode(key, value, true);
+    }
+
+    /** Unlinks key's node, if matchValue then only when it maps to value. */
+    private V removeNode(K key, V value, boolean matchValue) {
+        int h = spread(key.hashCode());
+        ReentrantLock stripe = stripes[h & stripeMask];
+        stripe.lock();
+        try {
+            AtomicReferenceArray<Node<K, V>> tab = lockedTable(h);
+            int i = indexFor(h, tab);
+            Node<K, V> prev = null;
+            for (Node<K, V> node = tab.get(i); node != null; prev = node, node = node.next) {
+                if (node.hash == h && key.equals(node.key)) {
+                    V old = node.value;
+                    if (matchValue && (value == null ? old != null : !value.equals(old))) {
+                        return null;
+                    }
+                    if (prev == null) {
+                        tab.set(i, node.next);
+                    } else {
+                        prev.next = node.next;
+                    }
+                    count.decrement();
+                    return old;
+                }
+            }
+            return null;
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /** Starts doubling tab unless that already happened or is underway, then helps. */
+    private void resize(AtomicReferenceArray<Node<K, V>> tab) {
+        Resize<K, V> r;
+        synchronized (resizeMonitor) {
+            r = resizing;
+            if (r == null) {
+                if (tab != table) {
+                    return;
+                }
+                r = new Resize<>(tab);
+                resizing = r;
+            }
+        }
+        help(r);
+    }
+
+    /**
+     * Claims and migrates stripes of r until none are left unclaimed. The
+     * caller must hold no stripe lock.
+     */
+    private void help(Resize<K, V> r) {
+        int s;
+        while ((s = r.nextStripe.getAndIncrement()) < stripes.length) {
+            ReentrantLock stripe = stripes[s];
+            stripe.lock();
+            try {
+                for (int i = s; i < r.from.length(); i += stripes.length) {
+                    migrateBucket(r, i);
+                }
+            } finally {
+                stripe.unlock();
+            }
+            if (r.stripesDone.incrementAndGet() == stripes.length) {
+                synchronized (resizeMonitor) {
+                    table = r.to;
+                    resizing = null;
+                }
+            }
+        }
+    }
+
+    /** Copies old bucket i into r.to and forwards it. Needs i's stripe lock. */
+    private void migrateBucket(Resize<K, V> r, int i) {
+        int oldLength = r.from.length();
+        Node<K, V> low = null;
+        Node<K, V> high = null;
+        for (Node<K, V> node = r.from.get(i); node != null; node = node.next) {
+            if ((node.hash & oldLength) == 0) {
+                low = new Node<>(node.hash, node.key, node.value, low);
+            } else {
+                high = new Node<>(node.hash, node.key, node.value, high);
+            }
+        }
+        r.to.set(i, low);
+        r.to.set(i + oldLength, high);
+        r.from.set(i, r.forward);
+    }
+
+    /** The current table length; for tests. */
+    int capacity() {
+        return table.length();
+    }
+
+    /**
+     * Returns the keys present at some point during the call, by walking the
+     * table and following forwarded buckets into the newer table.
+     */
+    private List<K> keys() {
+        List<K> keys = new ArrayList<>();
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        for (int i = 0; i < tab.length(); i += 1) {
+            collect(tab, i, keys);
+        }
+        return keys;
+    }
+
+    private void collect(AtomicReferenceArray<Node<K, V>> tab, int i, List<K> keys) {
+        Node<K, V> node = tab.get(i);
+        if (node instanceof Forward) {
+            AtomicReferenceArray<Node<K, V>> next = ((Forward<K, V>) node).table;
+            collect(next, i, keys);
+            collect(next, i + tab.length(), keys);
+            return;
+        }
+        for (; node != null; node = node.next) {
+            keys.add(node.key);
+        }
+    }
+
+    /** Iterates over a snapshot of the keys; removing through it is not supported. */
+    @Override
+    public Iterator<K> iterator() {
+        Iterator<K> it = keys().iterator();
+        return new Iterator<K>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public K next() {
+                return it.next();
+            }
+        };
+    }
+}
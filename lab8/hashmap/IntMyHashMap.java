@@ -0,0 +1,260 @@
+package hashmap;
+
+/**
+ *  A map from int keys to values, with the same operations as Map61B but
+ *  without boxing: keys live in an int[] and values in a parallel Object[],
+ *  so an entry costs one int and one reference and there are no Node or
+ *  Integer objects to allocate or chase.
+ *
+ *  Slots are found with Robin Hood linear probing and freed with
+ *  backward-shift deletion, as in OpenAddressingHashMap. Key 0 marks an
+ *  empty slot, so a mapping for 0 is kept in its own field instead.
+ *
+ *  Does not resize down upon remove().
+ */
+public class IntMyHashMap<V> {
+    private static final int DEFAULT_INITIAL_SIZE = 16;
+    private static final double DEFAULT_MAX_LOAD = 0.75;
+    private static final int EMPTY = 0;
+
+    /* Instance Variables */
+    private int[] keys;
+    private Object[] values;
+    private int mask;
+    /** Entries in the arrays; the zero key is counted separately. */
+    private int used;
+    private int resizeAt;
+    private boolean hasZeroKey;
+    private V zeroValue;
+    private final double maxLoad;
+
+    /** Constructors */
+    public IntMyHashMap() {
+        this(DEFAULT_INITIAL_SIZE, DEFAULT_MAX_LOAD);
+    }
+
+    public IntMyHashMap(int initialSize) {
+        this(initialSize, DEFAULT_MAX_LOAD);
+    }
+
+    /**
+     * IntMyHashMap constructor that creates a backing array of at least
+     * initialSize slots. The load factor (# items / # slots) is kept
+     * <= maxLoad, which must be below 1.
+     *
+     * @param initialSize initial size of backing array
+     * @param maxLoad maximum load factor
+     */
+    public IntMyHashMap(int initialSize, double maxLoad) {
+        if (initialSize < 1) {
+            throw new IllegalArgumentException("initialSize must be positive: " + initialSize);
+        }
+        if (!(maxLoad > 0 && maxLoad < 1)) {
+            throw new IllegalArgumentException("maxLoad must be in (0, 1): " + maxLoad);
+        }
+        this.maxLoad = maxLoad;
+        allocate(tableSizeFor(initialSize));
+    }
+
+    /** Returns the smallest power of two that is >= n. */
+    private static int tableSizeFor(int n) {
+        int size = Integer.highestOneBit(Math.max(n, 2) - 1) << 1;
+        if (size <= 0) {
+            throw new IllegalArgumentException("table too large: " + n);
+        }
+        return size;
+    }
+
+    /**
+     * Scrambles every bit of key into the low bits (the murmur3 finalizer),
+     * so runs of consecutive or strided keys spread over the whole table.
+     */
+    private static int mix(int key) {
+        int h = key;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private void allocate(int tableSize) {
+        keys = new int[tableSize];
+        values = new Object[tableSize];
+        mask = tableSize - 1;
+        resizeAt = (int) Math.min(tableSize - 1L, (long) (tableSize * maxLoad));
+    }
+
+    /** Returns how far slot i is from the home slot of the key in it. */
+    private int distance(int i) {
+        return (i - mix(keys[i])) & mask;
+    }
+
+    /** Returns the slot holding key (which is not 0), or -1 if there is none. */
+    private int findSlot(int key) {
+        int i = mix(key) & mask;
+        for (int dist = 0; keys[i] != EMPTY; dist += 1) {
+            if (keys[i] == key) {
+                return i;
+            }
+            if (distance(i) < dist) {
+                return -1;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    /** Inserts a key known not to be present, displacing residents closer to home. */
+    private void insert(int key, Object value) {
+        int i = mix(key) & mask;
+        int dist = 0;
+        while (keys[i] != EMPTY) {
+            int residentDist = distance(i);
+            if (residentDist < dist) {
+                int k = keys[i];
+                Object v = values[i];
+                keys[i] = key;
+                values[i] = value;
+                key = k;
+                value = v;
+                dist = residentDist;
+            }
+            i = (i + 1) & mask;
+            dist += 1;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    private void resize(int newSize) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newSize);
+        for (int i = 0; i < oldKeys.length; i += 1) {
+            if (oldKeys[i] != EMPTY) {
+                insert(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    /** Empties slot i and slides the run after it back one slot. */
+    private void deleteSlot(int i) {
+        int next = (i + 1) & mask;
+        while (keys[next] != EMPTY && distance(next) > 0) {
+            keys[i] = keys[next];
+            values[i] = values[next];
+            i = next;
+            next = (next + 1) & mask;
+        }
+        keys[i] = EMPTY;
+        values[i] = null;
+        used -= 1;
+    }
+
+    /** Removes all of the mappings from this map. */
+    public void clear() {
+        allocate(keys.length);
+        used = 0;
+        hasZeroKey = false;
+        zeroValue = null;
+    }
+
+    /** Returns true if this map contains a mapping for the specified key. */
+    public boolean containsKey(int key) {
+        return key == EMPTY ? hasZeroKey : findSlot(key) >= 0;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or null if this
+     * map contains no mapping for the key.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        if (key == EMPTY) {
+            return zeroValue;
+        }
+        int i = findSlot(key);
+        return i < 0 ? null : (V) values[i];
+    }
+
+    /** Returns the number of key-value mappings in this map. */
+    public int size() {
+        return hasZeroKey ? used + 1 : used;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     * If the map previously contained a mapping for the key,
+     * the old value is replaced.
+     */
+    public void put(int key, V value) {
+        if (key == EMPTY) {
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+        int i = findSlot(key);
+        if (i >= 0) {
+            values[i] = value;
+            return;
+        }
+        if (used + 1 > resizeAt) {
+            resize(keys.length * 2);
+        }
+        insert(key, value);
+        used += 1;
+    }
+
+    /** Returns the keys in this map, in no particular order. */
+    public int[] keys() {
+        int[] result = new int[size()];
+        int n = 0;
+        if (hasZeroKey) {
+            result[n++] = EMPTY;
+        }
+        for (int key : keys) {
+            if (key != EMPTY) {
+                result[n++] = key;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes the mapping for the specified key from this map if present,
+     * and returns its value (or null).
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        if (key == EMPTY) {
+            V old = zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+            return old;
+        }
+        int i = findSlot(key);
+        if (i < 0) {
+            return null;
+        }
+        V old = (V) values[i];
+        deleteSlot(i);
+        return old;
+    }
+
+    /**
+     * Removes the entry for the specified key only if it is currently mapped to
+     * the specified value.
+     */
+    public V remove(int key, V value) {
+        if (!containsKey(key)) {
+            return null;
+        }
+        V old = get(key);
+        if (value == null ? old != null : !value.equals(old)) {
+            return null;
+        }
+        return remove(key);
+    }
+}
@@ -0,0 +1,396 @@
+package hashmap;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToLongBiFunction;
+
+/**
+ *  A MyHashMap whose nodes are also threaded on a doubly linked list, so it
+ *  iterates in a predictable order and can serve as a bounded cache.
+ *
+ *  The Order picks what the list tracks. INSERTION keeps the order keys were
+ *  first put in. ACCESS moves a node to the back whenever get() finds it or
+ *  put() replaces its value, so the front is the least recently used key.
+ *  CLOCK keeps insertion order but only sets a referenced bit on access,
+ *  which makes a hit one field write instead of four pointer updates.
+ *
+ *  Once setMaxEntries or setMaxWeight puts a limit on the map, every put that
+ *  goes over it evicts from the front of the list: the oldest key for
+ *  INSERTION, the least recently used for ACCESS. CLOCK gives each referenced
+ *  node a second chance, clearing its bit and moving it to the back, and
+ *  evicts the first unreferenced node it reaches. The eviction listener, if
+ *  any, is told about each evicted entry. remove() and clear() are not
+ *  evictions.
+ *
+ *  get() counts hits and misses; containsKey() looks without counting or
+ *  touching anything. Iterators fail fast with ConcurrentModificationException
+ *  if the list changes under them, which in ACCESS order includes a get().
+ */
+public class LinkedMyHashMap<K, V> extends MyHashMap<K, V> {
+
+    /** What the linked list is ordered by, and so which key is evicted first. */
+    public enum Order {
+        /** The order keys were first put in; evicts the oldest. */
+        INSERTION,
+        /** Least recently used first; evicts the least recently used. */
+        ACCESS,
+        /** Insertion order with a referenced bit per key; evicts like CLOCK. */
+        CLOCK
+    }
+
+    /** A node with links to its neighbours in the list. */
+    private class LinkedNode extends Node {
+        LinkedNode before;
+        LinkedNode after;
+        /** Set on access in CLOCK order; cleared when the sweep passes. */
+        boolean referenced;
+        /** What the weigher returned for this entry, counted in weight. */
+        long weight;
+
+        LinkedNode(K k, V v) {
+            super(k, v);
+        }
+    }
+
+    private final Order order;
+    /** The front of the list: the next to go. */
+    private LinkedNode head;
+    private LinkedNode tail;
+    /** Bumped whenever the list changes, so iterators can fail fast. */
+    private int modCount;
+
+    private int maxEntries = Integer.MAX_VALUE;
+    private long maxWeight = Long.MAX_VALUE;
+    private ToLongBiFunction<? super K, ? super V> weigher = (k, v) -> 1;
+    private long weight;
+    private BiConsumer<? super K, ? super V> evictionListener;
+
+    /* Counters */
+    private long lookups;
+    private long hits;
+    private long evictions;
+
+    /** Constructors */
+    public LinkedMyHashMap() {
+        this(Order.INSERTION);
+    }
+
+    public LinkedMyHashMap(Order order) {
+        super();
+        this.order = checkOrder(order);
+    }
+
+    /**
+     * LinkedMyHashMap constructor for an LRU (with Order.ACCESS) or CLOCK
+     * cache that holds at most maxEntries keys.
+     *
+     * @param order the list order, which is also the eviction order
+     * @param maxEntries the most keys the map keeps
+     */
+    public LinkedMyHashMap(Order order, int maxEntries) {
+        this(order);
+        setMaxEntries(maxEntries);
+    }
+
+    /**
+     * LinkedMyHashMap constructor that also sizes the table.
+     *
+     * @param initialSize initial size of backing array
+     * @param maxLoad maximum load factor
+     * @param order the list order, which is also the eviction order
+     */
+    public LinkedMyHashMap(int initialSize, double maxLoad, Order order) {
+        super(initialSize, maxLoad);
+        this.order = checkOrder(order);
+    }
+
+    private static Order checkOrder(Order order) {
+        if (order == null) {
+            throw new IllegalArgumentException("order must not be null");
+        }
+        return order;
+    }
+
+    /** Limits the map to maxEntries keys, evicting at once if it holds more. */
+    public void setMaxEntries(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        evictIfNeeded();
+    }
+
+    /**
+     * Limits the total of weigher(key, value) over every entry to maxWeight,
+     * evicting at once if the map weighs more. Each entry is weighed when it
+     * is put, and again when put() replaces its value. An entry heavier than
+     * maxWeight on its own is evicted by itself as soon as it is put, before
+     * any other entry is considered, so it never sweeps out the rest.
+     */
+    public void setMaxWeight(long maxWeight, ToLongBiFunction<? super K, ? super V> weigher) {
+        if (maxWeight < 0) {
+            throw new IllegalArgumentException("maxWeight must not be negative: " + maxWeight);
+        }
+        if (weigher == null) {
+            throw new IllegalArgumentException("weigher must not be null");
+        }
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        weight = 0;
+        for (LinkedNode n = head; n != null; n = n.after) {
+            n.weight = weigh(n);
+            weight += n.weight;
+        }
+        for (LinkedNode n = head; n != null; ) {
+            LinkedNode next = n.after;
+            if (n.weight > maxWeight) {
+                evict(n);
+            }
+            n = next;
+        }
+        evictIfNeeded();
+    }
+
+    /** Calls listener with the key and value of each entry evicted from now on. */
+    public void setEvictionListener(BiConsumer<? super K, ? super V> listener) {
+        this.evictionListener = listener;
+    }
+
+    /**
+     * Returns the value for key, first putting loader.apply(key) if key is
+     * absent; a null from loader is returned but not put. Counts one hit or
+     * one miss, like get().
+     */
+    public V getOrCompute(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value != null || containsKey(key)) {
+            return value;
+        }
+        value = loader.apply(key);
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    /** Calls to get() that found their key. */
+    public long hits() {
+        return hits;
+    }
+
+    /** Calls to get() that did not find their key. */
+    public long misses() {
+        return lookups - hits;
+    }
+
+    /** Entries removed to stay within the limits. */
+    public long evictions() {
+        return evictions;
+    }
+
+    /** The total weight of the entries; the number of entries if no weigher is set. */
+    public long weight() {
+        return weight;
+    }
+
+    private long weigh(LinkedNode n) {
+        long w = weigher.applyAsLong(n.key, n.value);
+        if (w < 0) {
+            throw new IllegalArgumentException("negative weight " + w + " for key " + n.key);
+        }
+        return w;
+    }
+
+    @Override
+    protected Node createNode(K key, V value) {
+        return new LinkedNode(key, value);
+    }
+
+    @Override
+    public V get(K key) {
+        lookups += 1;
+        return super.get(key);
+    }
+
+    @Override
+    protected void afterNodeAccess(Node node) {
+        hits += 1;
+        touch((LinkedNode) node);
+    }
+
+    @Override
+    protected void afterNodeUpdate(Node node) {
+        LinkedNode n = (LinkedNode) node;
+        touch(n);
+        weight -= n.weight;
+        n.weight = weigh(n);
+        weight += n.weight;
+        evictIfNeeded(n);
+    }
+
+    @Override
+    protected void afterNodeInsertion(Node node) {
+        LinkedNode n = (LinkedNode) node;
+        // a new node starts referenced, so the sweep cannot take it before it is used
+        n.referenced = true;
+        linkLast(n);
+        n.weight = weigh(n);
+        weight += n.weight;
+        evictIfNeeded(n);
+    }
+
+    @Override
+    protected void afterNodeRemoval(Node node) {
+        LinkedNode n = (LinkedNode) node;
+        unlink(n);
+        weight -= n.weight;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        head = null;
+        tail = null;
+        modCount += 1;
+        weight = 0;
+    }
+
+    /** Records a use of n. */
+    private void touch(LinkedNode n) {
+        if (order == Order.ACCESS) {
+            if (n != tail) {
+                unlink(n);
+                linkLast(n);
+            }
+        } else if (order == Order.CLOCK) {
+            n.referenced = true;
+        }
+    }
+
+    private void linkLast(LinkedNode n) {
+        modCount += 1;
+        n.before = tail;
+        n.after = null;
+        if (tail == null) {
+            head = n;
+        } else {
+            tail.after = n;
+        }
+        tail = n;
+    }
+
+    private void unlink(LinkedNode n) {
+        modCount += 1;
+        if (n.before == null) {
+            head = n.after;
+        } else {
+            n.before.after = n.after;
+        }
+        if (n.after == null) {
+            tail = n.before;
+        } else {
+            n.after.before = n.before;
+        }
+        n.before = null;
+        n.after = null;
+    }
+
+    /** Evicts until the map is within maxEntries and maxWeight. */
+    private void evictIfNeeded() {
+        while (head != null && (size() > maxEntries || weight > maxWeight)) {
+            evict(nextVictim());
+        }
+    }
+
+    /**
+     * Evicts n alone if it is heavier than maxWeight by itself, since no
+     * amount of sweeping could make room for it; then evicts as usual.
+     */
+    private void evictIfNeeded(LinkedNode n) {
+        if (n.weight > maxWeight) {
+            evict(n);
+        }
+        evictIfNeeded();
+    }
+
+    private void evict(LinkedNode victim) {
+        K key = victim.key;
+        V value = victim.value;
+        remove(key);
+        evictions += 1;
+        if (evictionListener != null) {
+            evictionListener.accept(key, value);
+        }
+    }
+
+    /** Returns the node to evict next; in CLOCK order, sweeps past referenced nodes. */
+    private LinkedNode nextVictim() {
+        if (order == Order.CLOCK) {
+            while (head.referenced) {
+                LinkedNode n = head;
+                n.referenced = false;
+                unlink(n);
+                linkLast(n);
+            }
+        }
+        return head;
+    }
+
+    /**
+     * Puts each entry in turn, so that every one is linked, weighed and
+     * counted towards eviction in array order; pool is not used.
+     */
+    @Override
+    public void putAll(K[] keys, V[] values, ForkJoinPool pool) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException(
+                    keys.length + " keys but " + values.length + " values");
+        }
+        for (int i = 0; i < keys.length; i += 1) {
+            put(keys[i], values[i]);
+        }
+    }
+
+    /** Returns a Spliterator that follows the list, front first. */
+    @Override
+    public Spliterator<K> spliterator() {
+        return Spliterators.spliterator(iterator(), size(),
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    /**
+     * Walks the keys in list order, front first; throws
+     * ConcurrentModificationException if the list changes meanwhile.
+     */
+    @Override
+    public Iterator<K> iterator() {
+        return new Iterator<K>() {
+            private LinkedNode next = head;
+            private final int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public K next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                K key = next.key;
+                next = next.after;
+                return key;
+            }
+        };
+    }
+}
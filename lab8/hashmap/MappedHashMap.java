@@ -0,0 +1,799 @@
+package hashmap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ *  A hash table kept in memory-mapped files in a directory, so it can be
+ *  larger than the heap and outlives the JVM. Opening an existing map reads
+ *  a 64-byte header and maps the files; nothing is rebuilt, and a get() is
+ *  a few reads from the page cache.
+ *
+ *  Keys and values are stored as bytes, through a Codec. Every key goes into
+ *  an append-only log, next to its value unless the value codec has a fixed
+ *  size, in which case the value lives in the key's slot in the index and is
+ *  overwritten in place. The index is an open-addressing table of slots
+ *  holding a log offset and the key's hash; it uses linear probing with
+ *  backward-shift deletion, so a probe compares hashes and only reads the log
+ *  on a match. Hashes come from the encoded key, so they are the same in
+ *  every JVM.
+ *
+ *  Replacing a variable-size value, or removing a key, leaves its old record
+ *  in the log as garbage. compact() copies the live records to a new log.
+ *  compact() and resizing build a new index in index.tmp and rename it over
+ *  the old one, so a crash during either leaves the previous index and log
+ *  intact. Other writes go straight to the mapped files: call flush() (or
+ *  close()) to make them durable. A crash of the machine before that can
+ *  corrupt the map, not just lose the latest writes. The OS writes dirty
+ *  pages back in any order, so the index may reach the disk without the log
+ *  bytes its slots point at, or with a header whose log end is older than
+ *  the slots. Nothing checks for this on open. After such a crash, delete
+ *  the directory or rebuild the map from its source. A JVM that dies
+ *  without the machine going down loses nothing, since the pages are
+ *  already in the page cache.
+ *
+ *  Not safe for use by several threads, or by several processes at once.
+ *  Null keys and values cannot be stored.
+ */
+public class MappedHashMap<K, V> implements Map61B<K, V>, Closeable {
+
+    /**
+     * Turns keys or values into bytes and back. Two keys must be equal
+     * exactly when their encodings are equal.
+     */
+    public interface Codec<T> {
+        /** Returns the length of every encoding, or -1 if lengths vary. */
+        int fixedSize();
+
+        byte[] encode(T t);
+
+        /** Decodes the length bytes of buf starting at offset, without moving its position. */
+        T decode(ByteBuffer buf, int offset, int length);
+    }
+
+    /** Strings as UTF-8. */
+    public static final Codec<String> STRINGS = new Codec<String>() {
+        @Override
+        public int fixedSize() {
+            return -1;
+        }
+
+        @Override
+        public byte[] encode(String s) {
+            return s.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String decode(ByteBuffer buf, int offset, int length) {
+            byte[] b = new byte[length];
+            for (int i = 0; i < length; i += 1) {
+                b[i] = buf.get(offset + i);
+            }
+            return new String(b, StandardCharsets.UTF_8);
+        }
+    };
+
+    /** Integers as 4 bytes, a fixed size. */
+    public static final Codec<Integer> INTEGERS = new Codec<Integer>() {
+        @Override
+        public int fixedSize() {
+            return 4;
+        }
+
+        @Override
+        public byte[] encode(Integer i) {
+            return ByteBuffer.allocate(4).putInt(i).array();
+        }
+
+        @Override
+        public Integer decode(ByteBuffer buf, int offset, int length) {
+            return buf.getInt(offset);
+        }
+    };
+
+    /** Longs as 8 bytes, a fixed size. */
+    public static final Codec<Long> LONGS = new Codec<Long>() {
+        @Override
+        public int fixedSize() {
+            return 8;
+        }
+
+        @Override
+        public byte[] encode(Long l) {
+            return ByteBuffer.allocate(8).putLong(l).array();
+        }
+
+        @Override
+        public Long decode(ByteBuffer buf, int offset, int length) {
+            return buf.getLong(offset);
+        }
+    };
+
+    private static final long MAGIC = 0x4d61703631426d68L;
+    private static final int VERSION = 1;
+    private static final int INITIAL_SLOTS = 64;
+    /** Kept low: a miss probes until an empty slot, and each probe may touch a new page. */
+    private static final double MAX_LOAD = 0.5;
+    private static final int MAX_SLOTS = 1 << 30;
+    /** Slots per mapped index segment. A power of two. */
+    private static final int INDEX_SEGMENT_SLOTS = 1 << 16;
+    private static final int DEFAULT_LOG_SEGMENT_BYTES = 1 << 26;
+
+    /* Header layout, at the start of the index file */
+    private static final int HEADER_BYTES = 64;
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 8;
+    private static final int H_VALUE_SIZE = 12;
+    private static final int H_SLOTS = 16;
+    private static final int H_SIZE = 20;
+    private static final int H_LOG_END = 24;
+    private static final int H_GARBAGE = 32;
+    private static final int H_GENERATION = 40;
+    private static final int H_LOG_SEGMENT_BYTES = 44;
+
+    /* Slot layout: log offset + 1 (0 if the slot is empty), hash, inline value */
+    private static final int S_RECORD = 0;
+    private static final int S_HASH = 8;
+    private static final int S_VALUE = 12;
+
+    /* Log record layout: key length, value length (-1 if inline), key, value */
+    private static final int RECORD_HEADER_BYTES = 8;
+
+    /* Instance Variables */
+    private final Path dir;
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+    /** The value codec's fixed size, or -1 if values go in the log. */
+    private final int valueSize;
+    private final int slotBytes;
+    private Table table;
+    private Log log;
+    private int size;
+    /** Bytes of the log no slot refers to any more. */
+    private long garbage;
+    /** Numbers the log file; compact() moves on to the next one. */
+    private int generation;
+
+    /**
+     * Opens the map stored in dir, or creates an empty one there.
+     *
+     * @param dir the directory holding the files; created if absent
+     * @param keyCodec encodes the keys
+     * @param valueCodec encodes the values; must have the same fixedSize as
+     *                   when the map was created
+     */
+    public MappedHashMap(Path dir, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        this(dir, keyCodec, valueCodec, DEFAULT_LOG_SEGMENT_BYTES);
+    }
+
+    /** Also picks the log segment size of a new map; for tests of segment edges. */
+    MappedHashMap(Path dir, Codec<K> keyCodec, Codec<V> valueCodec, int logSegmentBytes)
+            throws IOException {
+        this.dir = dir;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.valueSize = valueCodec.fixedSize();
+        this.slotBytes = S_VALUE + Math.max(0, valueSize);
+        Files.createDirectories(dir);
+        Files.deleteIfExists(indexTmpPath());
+        if (Files.exists(indexPath())) {
+            table = openTable(indexPath());
+            ByteBuffer h = table.header;
+            size = h.getInt(H_SIZE);
+            garbage = h.getLong(H_GARBAGE);
+            generation = h.getInt(H_GENERATION);
+            log = new Log(logPath(generation), h.getInt(H_LOG_SEGMENT_BYTES),
+                    h.getLong(H_LOG_END));
+        } else {
+            log = new Log(logPath(0), logSegmentBytes, 0);
+            install(createTable(INITIAL_SLOTS));
+        }
+        deleteOtherLogs();
+    }
+
+    private Path indexPath() {
+        return dir.resolve("index");
+    }
+
+    private Path indexTmpPath() {
+        return dir.resolve("index.tmp");
+    }
+
+    private Path logPath(int gen) {
+        return dir.resolve("log." + gen);
+    }
+
+    /** Removes logs left behind by a compact() that was cut short. */
+    private void deleteOtherLogs() throws IOException {
+        for (int gen = generation - 2; gen <= generation + 1; gen += 1) {
+            if (gen != generation && gen >= 0) {
+                Files.deleteIfExists(logPath(gen));
+            }
+        }
+    }
+
+    /** Scrambles every bit of h into the low bits (the murmur3 finalizer). */
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static int hash(byte[] key) {
+        return spread(Arrays.hashCode(key));
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, long length)
+            throws IOException {
+        return channel.map(FileChannel.MapMode.READ_WRITE, position, length);
+    }
+
+    /** An index file: the header, then the slots in mapped segments. */
+    private class Table {
+        final Path file;
+        final FileChannel channel;
+        final MappedByteBuffer header;
+        final MappedByteBuffer[] segments;
+        final int slots;
+        final int mask;
+
+        Table(Path file, FileChannel channel, int slots) throws IOException {
+            this.file = file;
+            this.channel = channel;
+            this.slots = slots;
+            this.mask = slots - 1;
+            this.header = map(channel, 0, HEADER_BYTES);
+            int perSegment = Math.min(slots, INDEX_SEGMENT_SLOTS);
+            this.segments = new MappedByteBuffer[slots / perSegment];
+            for (int s = 0; s < segments.length; s += 1) {
+                segments[s] = map(channel, HEADER_BYTES + (long) s * perSegment * slotBytes,
+                        (long) perSegment * slotBytes);
+            }
+        }
+
+        ByteBuffer segment(int i) {
+            return segments[i / INDEX_SEGMENT_SLOTS];
+        }
+
+        int position(int i) {
+            return (i & (INDEX_SEGMENT_SLOTS - 1)) * slotBytes;
+        }
+
+        /** Returns the log offset of slot i's record, or -1 if the slot is empty. */
+        long record(int i) {
+            return segment(i).getLong(position(i) + S_RECORD) - 1;
+        }
+
+        int hash(int i) {
+            return segment(i).getInt(position(i) + S_HASH);
+        }
+
+        void set(int i, long record, int hash) {
+            ByteBuffer seg = segment(i);
+            int p = position(i);
+            seg.putLong(p + S_RECORD, record + 1);
+            seg.putInt(p + S_HASH, hash);
+        }
+
+        void clearSlot(int i) {
+            segment(i).putLong(position(i) + S_RECORD, 0);
+        }
+
+        /** Copies the inline value of slot i of from into slot j of this table. */
+        void copyValue(Table from, int i, int j) {
+            ByteBuffer src = from.segment(i);
+            ByteBuffer dst = segment(j);
+            int p = from.position(i) + S_VALUE;
+            int q = position(j) + S_VALUE;
+            for (int b = 0; b < valueSize; b += 1) {
+                dst.put(q + b, src.get(p + b));
+            }
+        }
+
+        /** Returns the first empty slot at or after hash's home slot. */
+        int freeSlot(int hash) {
+            int i = hash & mask;
+            while (record(i) >= 0) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        void force() {
+            header.force();
+            for (MappedByteBuffer seg : segments) {
+                seg.force();
+            }
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Returns a new, empty index of slots slots in index.tmp, with its
+     * header filled in from this map's fields. The table factory for this
+     * map, as createTable is for MyHashMap: every new index is built
+     * through it and then put in place by install.
+     */
+    private Table createTable(int slots) throws IOException {
+        Path tmp = indexTmpPath();
+        FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        Table t = new Table(tmp, channel, slots);
+        t.header.putLong(H_MAGIC, MAGIC);
+        t.header.putInt(H_VERSION, VERSION);
+        t.header.putInt(H_VALUE_SIZE, valueSize);
+        t.header.putInt(H_SLOTS, slots);
+        writeHeader(t.header);
+        return t;
+    }
+
+    /** Opens the index in file, after checking that this map can read it. */
+    private Table openTable(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        MappedByteBuffer header = map(channel, 0, HEADER_BYTES);
+        if (header.getLong(H_MAGIC) != MAGIC || header.getInt(H_VERSION) != VERSION) {
+            channel.close();
+            throw new IOException(file + " is not a MappedHashMap index");
+        }
+        if (header.getInt(H_VALUE_SIZE) != valueSize) {
+            channel.close();
+            throw new IllegalArgumentException("map stores values of size "
+                    + header.getInt(H_VALUE_SIZE) + ", codec has size " + valueSize);
+        }
+        return new Table(file, channel, header.getInt(H_SLOTS));
+    }
+
+    /** Copies the fields that change into header. */
+    private void writeHeader(ByteBuffer header) {
+        header.putInt(H_SIZE, size);
+        header.putLong(H_LOG_END, log.end);
+        header.putLong(H_GARBAGE, garbage);
+        header.putInt(H_GENERATION, generation);
+        header.putInt(H_LOG_SEGMENT_BYTES, log.segmentBytes);
+    }
+
+    /**
+     * An append-only log file in mapped segments of segmentBytes. A record
+     * never spans two segments; one that does not fit in the rest of a
+     * segment starts the next one, leaving a gap that compact() keeps too.
+     */
+    private class Log {
+        final FileChannel channel;
+        final int segmentBytes;
+        final List<MappedByteBuffer> segments = new ArrayList<>();
+        long end;
+
+        Log(Path file, int segmentBytes, long end) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.segmentBytes = segmentBytes;
+            this.end = end;
+            for (long s = 0; s * segmentBytes < end; s += 1) {
+                segment(s * segmentBytes);
+            }
+        }
+
+        /** Returns the segment holding offset, mapping it (and growing the file) if needed. */
+        ByteBuffer segment(long offset) {
+            int s = (int) (offset / segmentBytes);
+            try {
+                while (segments.size() <= s) {
+                    segments.add(map(channel, (long) segments.size() * segmentBytes,
+                            segmentBytes));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return segments.get(s);
+        }
+
+        int position(long offset) {
+            return (int) (offset % segmentBytes);
+        }
+
+        int keyLength(long record) {
+            return segment(record).getInt(position(record));
+        }
+
+        /** Returns the stored value length, or -1 if the value is inline. */
+        int valueLength(long record) {
+            return segment(record).getInt(position(record) + 4);
+        }
+
+        int length(long record) {
+            return RECORD_HEADER_BYTES + keyLength(record) + Math.max(0, valueLength(record));
+        }
+
+        /** Appends key and value (null if inline); returns the record's offset. */
+        long append(byte[] key, byte[] value) {
+            int length = RECORD_HEADER_BYTES + key.length + (value == null ? 0 : value.length);
+            if (length > segmentBytes) {
+                throw new IllegalArgumentException("entry of " + length
+                        + " bytes does not fit in a log segment of " + segmentBytes);
+            }
+            int p = position(end);
+            if (p + length > segmentBytes) {
+                end += segmentBytes - p;
+                p = 0;
+            }
+            ByteBuffer seg = segment(end);
+            seg.putInt(p, key.length);
+            seg.putInt(p + 4, value == null ? -1 : value.length);
+            for (int i = 0; i < key.length; i += 1) {
+                seg.put(p + RECORD_HEADER_BYTES + i, key[i]);
+            }
+            if (value != null) {
+                int v = p + RECORD_HEADER_BYTES + key.length;
+                for (int i = 0; i < value.length; i += 1) {
+                    seg.put(v + i, value[i]);
+                }
+            }
+            long record = end;
+            end += length;
+            return record;
+        }
+
+        /** Appends a copy of record from another log; returns the copy's offset. */
+        long copy(Log from, long record) {
+            ByteBuffer src = from.segment(record);
+            int p = from.position(record);
+            byte[] key = new byte[from.keyLength(record)];
+            for (int i = 0; i < key.length; i += 1) {
+                key[i] = src.get(p + RECORD_HEADER_BYTES + i);
+            }
+            byte[] value = null;
+            int valueLength = from.valueLength(record);
+            if (valueLength >= 0) {
+                value = new byte[valueLength];
+                for (int i = 0; i < valueLength; i += 1) {
+                    value[i] = src.get(p + RECORD_HEADER_BYTES + key.length + i);
+                }
+            }
+            return append(key, value);
+        }
+
+        boolean keyEquals(long record, byte[] key) {
+            if (keyLength(record) != key.length) {
+                return false;
+            }
+            ByteBuffer seg = segment(record);
+            int p = position(record) + RECORD_HEADER_BYTES;
+            for (int i = 0; i < key.length; i += 1) {
+                if (seg.get(p + i) != key[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void force() {
+            for (MappedByteBuffer seg : segments) {
+                seg.force();
+            }
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /** Returns the slot holding the key encoded as key, whose hash is h, or -1. */
+    private int find(byte[] key, int h) {
+        int i = h & table.mask;
+        for (long record = table.record(i); record >= 0; record = table.record(i)) {
+            if (table.hash(i) == h && log.keyEquals(record, key)) {
+                return i;
+            }
+            i = (i + 1) & table.mask;
+        }
+        return -1;
+    }
+
+    private int find(K key) {
+        byte[] k = keyCodec.encode(key);
+        return find(k, hash(k));
+    }
+
+    private V valueAt(int i) {
+        if (valueSize >= 0) {
+            return valueCodec.decode(table.segment(i), table.position(i) + S_VALUE, valueSize);
+        }
+        long record = table.record(i);
+        return valueCodec.decode(log.segment(record),
+                log.position(record) + RECORD_HEADER_BYTES + log.keyLength(record),
+                log.valueLength(record));
+    }
+
+    private K keyAt(int i) {
+        long record = table.record(i);
+        return keyCodec.decode(log.segment(record), log.position(record) + RECORD_HEADER_BYTES,
+                log.keyLength(record));
+    }
+
+    private void writeInlineValue(int i, byte[] value) {
+        ByteBuffer seg = table.segment(i);
+        int p = table.position(i) + S_VALUE;
+        for (int b = 0; b < valueSize; b += 1) {
+            seg.put(p + b, value[b]);
+        }
+    }
+
+    /**
+     * Copies every live slot into a new index of newSlots slots, and every
+     * live record into newLog if it is not the current log. The new index is
+     * forced to disk and renamed over the old one before either is used.
+     */
+    private void rebuild(int newSlots, Log newLog) throws IOException {
+        Table old = table;
+        Log oldLog = log;
+        if (newLog != oldLog) {
+            garbage = 0;
+        }
+        log = newLog;
+        Table fresh = createTable(newSlots);
+        for (int i = 0; i < old.slots; i += 1) {
+            long record = old.record(i);
+            if (record < 0) {
+                continue;
+            }
+            if (newLog != oldLog) {
+                record = newLog.copy(oldLog, record);
+            }
+            int h = old.hash(i);
+            int j = fresh.freeSlot(h);
+            fresh.set(j, record, h);
+            if (valueSize > 0) {
+                fresh.copyValue(old, i, j);
+            }
+        }
+        install(fresh);
+    }
+
+    /**
+     * Forces the log and fresh to disk, then renames fresh over the index
+     * and makes it the table, closing the old one.
+     */
+    private void install(Table fresh) throws IOException {
+        writeHeader(fresh.header);
+        log.force();
+        fresh.force();
+        Files.move(fresh.file, indexPath(), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        if (table != null) {
+            table.close();
+        }
+        table = fresh;
+    }
+
+    /**
+     * Rewrites the log with only the records the map still uses, and frees
+     * the rest. Takes time proportional to the live entries.
+     */
+    public void compact() {
+        try {
+            int next = generation + 1;
+            Files.deleteIfExists(logPath(next));
+            Log newLog = new Log(logPath(next), log.segmentBytes, 0);
+            Log oldLog = log;
+            generation = next;
+            rebuild(table.slots, newLog);
+            oldLog.close();
+            Files.delete(logPath(next - 1));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Bytes of log that compact() would free. */
+    public long garbageBytes() {
+        return garbage;
+    }
+
+    /**
+     * Writes every change so far to disk. Until this returns, a crash of the
+     * machine can leave the files inconsistent, not merely out of date.
+     */
+    public void flush() {
+        writeHeader(table.header);
+        log.force();
+        table.force();
+    }
+
+    /** Flushes, then releases the files; the map cannot be used afterwards. */
+    @Override
+    public void close() throws IOException {
+        flush();
+        table.close();
+        log.close();
+    }
+
+    @Override
+    public void clear() {
+        try {
+            int next = generation + 1;
+            Files.deleteIfExists(logPath(next));
+            Log oldLog = log;
+            log = new Log(logPath(next), oldLog.segmentBytes, 0);
+            size = 0;
+            garbage = 0;
+            generation = next;
+            install(createTable(INITIAL_SLOTS));
+            oldLog.close();
+            Files.delete(logPath(next - 1));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return find(key) >= 0;
+    }
+
+    @Override
+    public V get(K key) {
+        int i = find(key);
+        return i < 0 ? null : valueAt(i);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("null keys and values cannot be stored");
+        }
+        byte[] k = keyCodec.encode(key);
+        byte[] v = valueCodec.encode(value);
+        if (valueSize >= 0 && v.length != valueSize) {
+            throw new IllegalArgumentException("value encodes to " + v.length
+                    + " bytes, not " + valueSize);
+        }
+        int h = hash(k);
+        int i = find(k, h);
+        if (i >= 0) {
+            if (valueSize >= 0) {
+                writeInlineValue(i, v);
+            } else {
+                garbage += log.length(table.record(i));
+                table.set(i, log.append(k, v), h);
+            }
+            writeHeader(table.header);
+            return;
+        }
+        if (size + 1 > table.slots * MAX_LOAD && table.slots < MAX_SLOTS) {
+            try {
+                rebuild(table.slots * 2, log);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        long record = log.append(k, valueSize >= 0 ? null : v);
+        i = table.freeSlot(h);
+        table.set(i, record, h);
+        if (valueSize >= 0) {
+            writeInlineValue(i, v);
+        }
+        size += 1;
+        writeHeader(table.header);
+    }
+
+    @Override
+    public Set<K> keySet() {
+        Set<K> keys = new HashSet<>();
+        for (K key : this) {
+            keys.add(key);
+        }
+        return keys;
+    }
+
+    @Override
+    public V remove(K key) {
+        int i = find(key);
+        if (i < 0) {
+            return null;
+        }
+        V old = valueAt(i);
+        deleteSlot(i);
+        return old;
+    }
+
+    @Override
+    public V remove(K key, V value) {
+        int i = find(key);
+        if (i < 0) {
+            return null;
+        }
+        V old = valueAt(i);
+        if (!old.equals(value)) {
+            return null;
+        }
+        deleteSlot(i);
+        return old;
+    }
+
+    /**
+     * Empties slot i, moving later slots of the run back into the hole when
+     * their home slot allows it, so no tombstones are left behind.
+     */
+    private void deleteSlot(int i) {
+        garbage += log.length(table.record(i));
+        int mask = table.mask;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            long record = table.record(j);
+            if (record < 0) {
+                break;
+            }
+            int h = table.hash(j);
+            int home = h & mask;
+            // slot j's entry may move to i if its home is not cyclically in (i, j]
+            boolean movable = i <= j ? (home <= i || home > j) : (home <= i && home > j);
+            if (movable) {
+                table.set(i, record, h);
+                if (valueSize > 0) {
+                    table.copyValue(table, j, i);
+                }
+                i = j;
+            }
+        }
+        table.clearSlot(i);
+        size -= 1;
+        writeHeader(table.header);
+    }
+
+    @Override
+    public Iterator<K> iterator() {
+        return new KeyIterator();
+    }
+
+    /** Walks the slots in table order. */
+    private class KeyIterator implements Iterator<K> {
+        private int slot = 0;
+
+        @Override
+        public boolean hasNext() {
+            while (slot < table.slots && table.record(slot) < 0) {
+                slot += 1;
+            }
+            return slot < table.slots;
+        }
+
+        @Override
+        public K next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            K key = keyAt(slot);
+            slot += 1;
+            return key;
+        }
+    }
+}
@@ -1,11 +1,40 @@
 package hashmap;
 
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.function.IntBinaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  *  A hash table-backed Map implementation. Provides amortized constant time
  *  access to elements via get(), remove(), and put() in the best case.
  *
+ *  By default a resize rehashes every node inside the put() that crosses
+ *  maxLoad. In ResizeMode.INCREMENTAL the old table is kept next to the new
+ *  one instead, and every put() and remove() moves a few old buckets across,
+ *  so no single call pays for the whole rehash. get() and containsKey()
+ *  look in both tables but never move nodes, so a read never disturbs an
+ *  iteration in progress.
+ *
+ *  Tables are always a power of two in size, so a key's bucket is the low
+ *  bits of its hash rather than a remainder. The hashCode is run through a
+ *  bit mixer first: masking the raw hashCode would ignore its high bits, and
+ *  keys whose hashCodes differ mostly there would pile into a few buckets.
+ *
+ *  putAll() builds from arrays of keys and values: it sizes the table once,
+ *  sorts the keys by which range of buckets they fall in, and fills the
+ *  ranges in parallel on a ForkJoinPool. spliterator() splits by bucket
+ *  range too, so stream().parallel() can aggregate over the keys.
+ *
  *  Assumes null keys will never be inserted, and does not resize down upon remove().
  *  @author YOUR NAME HERE
  */
@@ -25,31 +54,141 @@ public class MyHashMap<K, V> implements Map61B<K, V> {
         }
     }
 
+    private static final int DEFAULT_INITIAL_SIZE = 16;
+    private static final double DEFAULT_MAX_LOAD = 0.75;
+    /** The largest power-of-two table; past it the map stops resizing. */
+    private static final int MAXIMUM_SIZE = 1 << 30;
+    /**
+     * Old buckets moved per put/remove in incremental mode. The new table
+     * has twice as many buckets, so even at a max load of 0.25 the old table
+     * is empty before the new one fills up.
+     */
+    private static final int MIGRATION_STEP = 4;
+    /**
+     * One get() in this many counts how many nodes it had to look at. The
+     * other gets pay only for a counter increment, so the stats can stay on.
+     * A power of two.
+     */
+    private static final int PROBE_SAMPLE_PERIOD = 64;
+    /** putAll() of fewer keys than this just calls put() for each. */
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+    /** Fewest keys, or buckets, one bulk-load task or spliterator split handles. */
+    private static final int GRAIN = 1 << 10;
+
+    /** How a MyHashMap grows its table once it goes over maxLoad. */
+    public enum ResizeMode {
+        /** Rehash every node into the new table inside one put(). */
+        ALL_AT_ONCE,
+        /** Keep both tables and move a few buckets on every put/remove. */
+        INCREMENTAL
+    }
+
     /* Instance Variables */
     private Collection<Node>[] buckets;
-    // You should probably define some more!
+    private int size;
+    private final double maxLoad;
+    private final ResizeMode resizeMode;
+    /** The table being drained in incremental mode, or null. */
+    private Collection<Node>[] oldBuckets;
+    /** Buckets of oldBuckets below this index have been moved already. */
+    private int migrated;
+
+    /* Counters reported by stats() */
+    private long gets;
+    private long sampledGets;
+    private long sampledProbes;
+    private int resizes;
+    private long resizeNanos;
 
     /** Constructors */
-    public MyHashMap() { }
+    public MyHashMap() {
+        this(DEFAULT_INITIAL_SIZE, DEFAULT_MAX_LOAD);
+    }
 
-    public MyHashMap(int initialSize) { }
+    public MyHashMap(int initialSize) {
+        this(initialSize, DEFAULT_MAX_LOAD);
+    }
 
     /**
-     * MyHashMap constructor that creates a backing array of initialSize.
+     * MyHashMap constructor that creates a backing array of initialSize,
+     * rounded up to a power of two.
      * The load factor (# items / # buckets) should always be <= loadFactor
      *
      * @param initialSize initial size of backing array
      * @param maxLoad maximum load factor
      */
-    public MyHashMap(int initialSize, double maxLoad) { }
+    public MyHashMap(int initialSize, double maxLoad) {
+        this(initialSize, maxLoad, ResizeMode.ALL_AT_ONCE);
+    }
 
     /**
-     * Returns a new node to be placed in a hash table bucket
+     * MyHashMap constructor that also picks how the table grows.
+     *
+     * @param initialSize initial size of backing array
+     * @param maxLoad maximum load factor
+     * @param resizeMode ALL_AT_ONCE, or INCREMENTAL to spread each rehash
+     *                   over the puts and removes that follow it
      */
-    private Node createNode(K key, V value) {
-        return null;
+    public MyHashMap(int initialSize, double maxLoad, ResizeMode resizeMode) {
+        if (initialSize < 1) {
+            throw new IllegalArgumentException("initialSize must be positive: " + initialSize);
+        }
+        if (!(maxLoad > 0)) {
+            throw new IllegalArgumentException("maxLoad must be positive: " + maxLoad);
+        }
+        if (resizeMode == null) {
+            throw new IllegalArgumentException("resizeMode must not be null");
+        }
+        this.maxLoad = maxLoad;
+        this.resizeMode = resizeMode;
+        this.buckets = createTable(tableSizeFor(initialSize));
+        this.size = 0;
     }
 
+    /** Returns the smallest power of two that is at least n, capped at MAXIMUM_SIZE. */
+    private static int tableSizeFor(int n) {
+        if (n >= MAXIMUM_SIZE) {
+            return MAXIMUM_SIZE;
+        }
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    /**
+     * Returns a new node to be placed in a hash table bucket. Override this
+     * to keep extra state on each node, as LinkedMyHashMap does.
+     */
+    protected Node createNode(K key, V value) {
+        return new Node(key, value);
+    }
+
+    /*
+     * Hooks for subclasses that track the nodes themselves, such as
+     * LinkedMyHashMap. They run after the table and size are up to date,
+     * so a hook may call back into the map, e.g. to remove another key.
+     */
+
+    /** Called when get() finds node. */
+    protected void afterNodeAccess(Node node) {
+    }
+
+    /** Called when put() replaces the value of node, which was already present. */
+    protected void afterNodeUpdate(Node node) {
+    }
+
+    /** Called when put() adds node. */
+    protected void afterNodeInsertion(Node node) {
+    }
+
+    /** Called when remove() takes node out of the map. Not called by clear(). */
+    protected void afterNodeRemoval(Node node) {
+    }
+
+    /*
+     * The parallel fill in putAll() calls none of the hooks, since they would
+     * run on several threads at once. A subclass that depends on them must
+     * override putAll() to put one key at a time.
+     */
+
     /**
      * Returns a data structure to be a hash table bucket
      *
@@ -69,7 +208,7 @@ public class MyHashMap<K, V> implements Map61B<K, V> {
      * OWN BUCKET DATA STRUCTURES WITH THE NEW OPERATOR!
      */
     protected Collection<Node> createBucket() {
-        return null;
+        return new LinkedList<>();
     }
 
     /**
@@ -82,10 +221,531 @@ public class MyHashMap<K, V> implements Map61B<K, V> {
      * @param tableSize the size of the table to create
      */
     private Collection<Node>[] createTable(int tableSize) {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Collection<Node>[] table = new Collection[tableSize];
+        for (int i = 0; i < tableSize; i += 1) {
+            table[i] = createBucket();
+        }
+        return table;
+    }
+
+    /**
+     * Scrambles every bit of h into the low bits (the murmur3 finalizer).
+     * bucketIndex keeps only the low bits, so without this step two keys
+     * whose hashCodes differ only above them would always share a bucket.
+     * Override to compare other mixers; the result only needs to depend on h.
+     */
+    protected int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /** Returns the index of the bucket that key belongs in, for a table of n buckets. */
+    private int bucketIndex(K key, int n) {
+        return spread(key.hashCode()) & (n - 1);
+    }
+
+    /**
+     * Returns bucket i of table, creating it first if needed. Only a table
+     * built by startMigration has empty slots; they are filled as nodes
+     * arrive so that starting an incremental resize costs one array
+     * allocation rather than one bucket per slot.
+     */
+    private Collection<Node> bucketAt(Collection<Node>[] table, int i) {
+        if (table[i] == null) {
+            table[i] = createBucket();
+        }
+        return table[i];
+    }
+
+    /** Returns the node in table holding key, or null if there is none. */
+    private Node findIn(Collection<Node>[] table, K key) {
+        Collection<Node> bucket = table[bucketIndex(key, table.length)];
+        if (bucket == null) {
+            return null;
+        }
+        return findInBucket(bucket, key);
+    }
+
+    /**
+     * Returns the node in bucket holding key, or null if there is none.
+     * Scans the whole bucket; override this along with createBucket when the
+     * bucket type can find a key faster than by iterating over it.
+     */
+    protected Node findInBucket(Collection<Node> bucket, K key) {
+        for (Node node : bucket) {
+            if (node.key.equals(key)) {
+                return node;
+            }
+        }
         return null;
     }
 
-    // TODO: Implement the methods of the Map61B Interface below
-    // Your code won't compile until you do so!
+    /**
+     * Returns how many nodes of bucket a lookup of key examines: up to and
+     * including key's node, or the whole bucket if key is absent. Override
+     * this along with findInBucket so that the probe counts in stats()
+     * match how the bucket really searches.
+     */
+    protected int probesFor(Collection<Node> bucket, K key) {
+        int probes = 0;
+        for (Node node : bucket) {
+            probes += 1;
+            if (node.key.equals(key)) {
+                break;
+            }
+        }
+        return probes;
+    }
+
+    /** Adds the probes a lookup of key takes to the sampled totals. */
+    private void sampleProbes(K key) {
+        Collection<Node> bucket = buckets[bucketIndex(key, buckets.length)];
+        int probes = bucket == null ? 0 : probesFor(bucket, key);
+        if (oldBuckets != null && findIn(buckets, key) == null) {
+            Collection<Node> old = oldBuckets[bucketIndex(key, oldBuckets.length)];
+            probes += old == null ? 0 : probesFor(old, key);
+        }
+        sampledGets += 1;
+        sampledProbes += probes;
+    }
 
+    /**
+     * Returns a snapshot of how well this map's keys are spread and what
+     * growing it has cost. The chain-length histogram is built by walking
+     * the table, so each call costs O(buckets); the counters behind the
+     * other figures are kept all the time.
+     */
+    public MyHashMapStats stats() {
+        int[] histogram = new int[MyHashMapStats.HISTOGRAM_BINS];
+        int bucketCount = buckets.length;
+        int maxChain = addChains(buckets, 0, histogram, 0);
+        if (oldBuckets != null) {
+            maxChain = addChains(oldBuckets, migrated, histogram, maxChain);
+            bucketCount += oldBuckets.length - migrated;
+        }
+        return new MyHashMapStats(size, bucketCount, histogram, maxChain, gets,
+                sampledGets, sampledProbes, resizes, resizeNanos);
+    }
+
+    /** Counts the lengths of table[from..] into histogram; returns the new max. */
+    private static <N> int addChains(Collection<N>[] table, int from, int[] histogram,
+                                     int maxChain) {
+        for (int i = from; i < table.length; i += 1) {
+            int length = table[i] == null ? 0 : table[i].size();
+            histogram[Math.min(length, histogram.length - 1)] += 1;
+            maxChain = Math.max(maxChain, length);
+        }
+        return maxChain;
+    }
+
+    /** Returns the node holding key, or null if there is none. */
+    private Node findNode(K key) {
+        Node node = findIn(buckets, key);
+        if (node == null && oldBuckets != null) {
+            node = findIn(oldBuckets, key);
+        }
+        return node;
+    }
+
+    /** Grows the table to newSize buckets, all at once or incrementally. */
+    private void resize(int newSize) {
+        long start = System.nanoTime();
+        resizes += 1;
+        if (resizeMode == ResizeMode.INCREMENTAL) {
+            finishMigration();
+            startMigration(newSize);
+        } else {
+            Collection<Node>[] newBuckets = createTable(newSize);
+            for (Collection<Node> bucket : buckets) {
+                for (Node node : bucket) {
+                    newBuckets[bucketIndex(node.key, newSize)].add(node);
+                }
+            }
+            buckets = newBuckets;
+        }
+        resizeNanos += System.nanoTime() - start;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void startMigration(int newSize) {
+        oldBuckets = buckets;
+        buckets = new Collection[newSize];
+        migrated = 0;
+    }
+
+    /** Moves up to count old buckets into the new table. */
+    private void migrate(int count) {
+        if (oldBuckets == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        int end = Math.min(oldBuckets.length, migrated + count);
+        for (; migrated < end; migrated += 1) {
+            Collection<Node> bucket = oldBuckets[migrated];
+            if (bucket == null) {
+                continue;
+            }
+            for (Node node : bucket) {
+                bucketAt(buckets, bucketIndex(node.key, buckets.length)).add(node);
+            }
+            oldBuckets[migrated] = null;
+        }
+        if (migrated == oldBuckets.length) {
+            oldBuckets = null;
+        }
+        resizeNanos += System.nanoTime() - start;
+    }
+
+    private void finishMigration() {
+        if (oldBuckets != null) {
+            migrate(oldBuckets.length);
+        }
+    }
+
+    @Override
+    public void clear() {
+        buckets = createTable(buckets.length);
+        oldBuckets = null;
+        size = 0;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return findNode(key) != null;
+    }
+
+    @Override
+    public V get(K key) {
+        gets += 1;
+        if ((gets & (PROBE_SAMPLE_PERIOD - 1)) == 0) {
+            sampleProbes(key);
+        }
+        Node node = findNode(key);
+        if (node == null) {
+            return null;
+        }
+        afterNodeAccess(node);
+        return node.value;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        migrate(MIGRATION_STEP);
+        Node node = findNode(key);
+        if (node != null) {
+            node.value = value;
+            afterNodeUpdate(node);
+            return;
+        }
+        if ((double) (size + 1) / buckets.length > maxLoad && buckets.length < MAXIMUM_SIZE) {
+            resize(buckets.length * 2);
+        }
+        node = createNode(key, value);
+        bucketAt(buckets, bucketIndex(key, buckets.length)).add(node);
+        size += 1;
+        afterNodeInsertion(node);
+    }
+
+    @Override
+    public Set<K> keySet() {
+        Set<K> keys = new HashSet<>();
+        for (K key : this) {
+            keys.add(key);
+        }
+        return keys;
+    }
+
+    @Override
+    public V remove(K key) {
+        migrate(MIGRATION_STEP);
+        return removeNode(key);
+    }
+
+    @Override
+    public V remove(K key, V value) {
+        migrate(MIGRATION_STEP);
+        Node node = findNode(key);
+        if (node == null || (value == null ? node.value != null : !value.equals(node.value))) {
+            return null;
+        }
+        return removeNode(key);
+    }
+
+    /** Removes key from whichever table holds it; returns its value or null. */
+    private V removeNode(K key) {
+        Node node = findIn(buckets, key);
+        Collection<Node>[] table = buckets;
+        if (node == null && oldBuckets != null) {
+            node = findIn(oldBuckets, key);
+            table = oldBuckets;
+        }
+        if (node == null) {
+            return null;
+        }
+        table[bucketIndex(key, table.length)].remove(node);
+        size -= 1;
+        afterNodeRemoval(node);
+        return node.value;
+    }
+
+    /**
+     * Grows the table, if needed, so that it can hold expectedSize keys
+     * without going over maxLoad. Call it before putting a known number of
+     * keys to replace the resizes along the way with one.
+     */
+    public void ensureCapacity(int expectedSize) {
+        long needed = (long) Math.ceil(expectedSize / maxLoad);
+        int tableSize = tableSizeFor((int) Math.min(needed, MAXIMUM_SIZE));
+        if (tableSize > buckets.length) {
+            resize(tableSize);
+        }
+    }
+
+    /** Puts keys[i] -> values[i] for every i, on the common ForkJoinPool. */
+    public void putAll(K[] keys, V[] values) {
+        putAll(keys, values, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Puts keys[i] -> values[i] for every i, in that order, so a later
+     * duplicate key wins. The table is sized for all of them up front. Large
+     * arrays are then split by bucket range: each range's keys go into
+     * buckets no other task touches, so the ranges fill in parallel on pool
+     * without locks. Not safe to call while other threads use the map.
+     */
+    public void putAll(K[] keys, V[] values, ForkJoinPool pool) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException(
+                    keys.length + " keys but " + values.length + " values");
+        }
+        ensureCapacity(size + keys.length);
+        if (keys.length < PARALLEL_THRESHOLD || pool.getParallelism() < 2) {
+            for (int i = 0; i < keys.length; i += 1) {
+                put(keys[i], values[i]);
+            }
+            return;
+        }
+        // The one table now has room for every key, so nothing below resizes.
+        finishMigration();
+        Collection<Node>[] table = buckets;
+        int n = table.length;
+
+        int[] index = new int[keys.length];
+        pool.invoke(new RangeTask(0, keys.length, GRAIN, (lo, hi) -> {
+            for (int i = lo; i < hi; i += 1) {
+                index[i] = bucketIndex(keys[i], n);
+            }
+            return 0;
+        }));
+
+        // Counting sort of the key positions by bucket range, which keeps
+        // positions within a range in array order.
+        int ranges = Math.min(n, Integer.highestOneBit(pool.getParallelism()) * 8);
+        int shift = Integer.numberOfTrailingZeros(n) - Integer.numberOfTrailingZeros(ranges);
+        int[] start = new int[ranges + 1];
+        for (int i : index) {
+            start[(i >>> shift) + 1] += 1;
+        }
+        for (int r = 0; r < ranges; r += 1) {
+            start[r + 1] += start[r];
+        }
+        int[] next = start.clone();
+        int[] order = new int[keys.length];
+        for (int i = 0; i < keys.length; i += 1) {
+            order[next[index[i] >>> shift]++] = i;
+        }
+
+        size += pool.invoke(new RangeTask(0, ranges, 1, (lo, hi) -> {
+            int added = 0;
+            for (int j = start[lo]; j < start[hi]; j += 1) {
+                int i = order[j];
+                Collection<Node> bucket = bucketAt(table, index[i]);
+                Node node = findInBucket(bucket, keys[i]);
+                if (node != null) {
+                    node.value = values[i];
+                } else {
+                    bucket.add(createNode(keys[i], values[i]));
+                    added += 1;
+                }
+            }
+            return added;
+        }));
+    }
+
+    /**
+     * Splits [lo, hi) in halves down to grain, runs leaf on each piece, and
+     * returns the sum of what leaf returned.
+     */
+    private static class RangeTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final int lo;
+        private final int hi;
+        private final int grain;
+        private final IntBinaryOperator leaf;
+
+        RangeTask(int lo, int hi, int grain, IntBinaryOperator leaf) {
+            this.lo = lo;
+            this.hi = hi;
+            this.grain = grain;
+            this.leaf = leaf;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (hi - lo <= grain) {
+                return leaf.applyAsInt(lo, hi);
+            }
+            int mid = (lo + hi) >>> 1;
+            RangeTask left = new RangeTask(lo, mid, grain, leaf);
+            left.fork();
+            int right = new RangeTask(mid, hi, grain, leaf).compute();
+            return left.join() + right;
+        }
+    }
+
+    @Override
+    public Iterator<K> iterator() {
+        return new KeyIterator();
+    }
+
+    /**
+     * Returns a Spliterator over the keys that splits by bucket range, so a
+     * parallel stream hands each thread its own part of the table. Like the
+     * iterator, it covers the old table too during an incremental resize.
+     */
+    @Override
+    public Spliterator<K> spliterator() {
+        int end = buckets.length + (oldBuckets == null ? 0 : oldBuckets.length);
+        return new KeySpliterator(buckets, oldBuckets, 0, end, size);
+    }
+
+    /** Returns a sequential stream of the keys; call parallel() on it to split it. */
+    public Stream<K> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Covers buckets lo to hi of the table and the old table laid end to
+     * end. est is an estimate of how many keys that holds, which is exact
+     * until the first split.
+     */
+    private class KeySpliterator implements Spliterator<K> {
+        private final Collection<Node>[] table;
+        private final Collection<Node>[] oldTable;
+        private int lo;
+        private final int hi;
+        private long est;
+        private Iterator<Node> current;
+
+        KeySpliterator(Collection<Node>[] table, Collection<Node>[] oldTable,
+                       int lo, int hi, long est) {
+            this.table = table;
+            this.oldTable = oldTable;
+            this.lo = lo;
+            this.hi = hi;
+            this.est = est;
+        }
+
+        private Collection<Node> bucket(int i) {
+            return i < table.length ? table[i] : oldTable[i - table.length];
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super K> action) {
+            while (current == null || !current.hasNext()) {
+                if (lo >= hi) {
+                    return false;
+                }
+                Collection<Node> b = bucket(lo);
+                current = b == null ? null : b.iterator();
+                lo += 1;
+            }
+            action.accept(current.next().key);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super K> action) {
+            while (current != null && current.hasNext()) {
+                action.accept(current.next().key);
+            }
+            current = null;
+            for (; lo < hi; lo += 1) {
+                Collection<Node> b = bucket(lo);
+                if (b != null) {
+                    for (Node node : b) {
+                        action.accept(node.key);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public Spliterator<K> trySplit() {
+            if (hi - lo < 2 * GRAIN) {
+                return null;
+            }
+            int mid = (lo + hi) >>> 1;
+            est >>>= 1;
+            KeySpliterator prefix = new KeySpliterator(table, oldTable, lo, mid, est);
+            lo = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return est;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.DISTINCT | Spliterator.NONNULL;
+        }
+    }
+
+    /**
+     * Walks the buckets in table order, and each bucket in its own order,
+     * then the buckets still waiting in the old table, if any.
+     */
+    private class KeyIterator implements Iterator<K> {
+        private Collection<Node>[] table = buckets;
+        private int bucket = 0;
+        private Iterator<Node> current = null;
+
+        @Override
+        public boolean hasNext() {
+            while (current == null || !current.hasNext()) {
+                if (bucket == table.length) {
+                    if (table == oldBuckets || oldBuckets == null) {
+                        return false;
+                    }
+                    table = oldBuckets;
+                    bucket = 0;
+                }
+                Collection<Node> next = table[bucket];
+                current = next == null ? null : next.iterator();
+                bucket += 1;
+            }
+            return true;
+        }
+
+        @Override
+        public K next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next().key;
+        }
+    }
 }
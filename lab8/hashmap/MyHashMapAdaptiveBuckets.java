@@ -0,0 +1,143 @@
+package hashmap;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.TreeMap;
+
+/**
+ * Hash Table with adaptive buckets
+ * Each bucket starts as a small array list, which is the cheapest bucket
+ * while it holds a few nodes. A bucket that grows past TREEIFY_THRESHOLD
+ * nodes (because of a poor or adversarial hashCode) turns itself into a
+ * red-black tree keyed by the keys' compareTo. It turns back into a list
+ * once it shrinks to UNTREEIFY_THRESHOLD. Lookups in a crowded bucket are
+ * then O(log n) instead of O(n), and well-spread tables pay nothing for it.
+ *
+ * Keys must be comparable, and compareTo must be consistent with equals.
+ */
+public class MyHashMapAdaptiveBuckets<K extends Comparable<K>, V> extends MyHashMap<K, V> {
+    /** A list bucket with more nodes than this becomes a tree. */
+    static final int TREEIFY_THRESHOLD = 8;
+    /**
+     * A tree bucket with this many nodes or fewer becomes a list again.
+     * The gap to TREEIFY_THRESHOLD keeps a bucket hovering around one size
+     * from converting back and forth on every put and remove.
+     */
+    static final int UNTREEIFY_THRESHOLD = 6;
+
+    /**
+     * Constructor that creates a backing array with default
+     * initial size and load factor
+     */
+    public MyHashMapAdaptiveBuckets() {
+        super();
+    }
+
+    /**
+     * Constructor that creates a backing array of initialSize
+     * and default load factor
+     *
+     * @param initialSize initial size of backing array
+     */
+    public MyHashMapAdaptiveBuckets(int initialSize) {
+        super(initialSize);
+    }
+
+    /**
+     * Constructor that creates a backing array of initialSize.
+     * The load factor (# items / # buckets) should always be <= loadFactor
+     *
+     * @param initialSize initial size of backing array
+     * @param maxLoad maximum load factor
+     */
+    public MyHashMapAdaptiveBuckets(int initialSize, double maxLoad) {
+        super(initialSize, maxLoad);
+    }
+
+    @Override
+    protected Collection<Node> createBucket() {
+        return new AdaptiveBucket();
+    }
+
+    @Override
+    protected Node findInBucket(Collection<Node> bucket, K key) {
+        return ((AdaptiveBucket) bucket).find(key);
+    }
+
+    /** A tree bucket is searched in about log2(size) comparisons. */
+    @Override
+    protected int probesFor(Collection<Node> bucket, K key) {
+        if (((AdaptiveBucket) bucket).tree != null) {
+            return 32 - Integer.numberOfLeadingZeros(bucket.size());
+        }
+        return super.probesFor(bucket, key);
+    }
+
+    /** A bucket that is a list while small and a tree while large. */
+    private class AdaptiveBucket extends AbstractCollection<Node> {
+        /** The nodes while this bucket is a list; null while it is a tree. */
+        private ArrayList<Node> list = new ArrayList<>(2);
+        /** The nodes by key while this bucket is a tree; null while it is a list. */
+        private TreeMap<K, Node> tree;
+
+        Node find(K key) {
+            if (tree != null) {
+                return tree.get(key);
+            }
+            for (int i = 0; i < list.size(); i += 1) {
+                Node node = list.get(i);
+                if (node.key.equals(key)) {
+                    return node;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean add(Node node) {
+            if (tree != null) {
+                tree.put(node.key, node);
+                return true;
+            }
+            list.add(node);
+            if (list.size() > TREEIFY_THRESHOLD) {
+                tree = new TreeMap<>();
+                for (Node n : list) {
+                    tree.put(n.key, n);
+                }
+                list = null;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (tree == null) {
+                return list.remove(o);
+            }
+            @SuppressWarnings("unchecked")
+            Node node = (Node) o;
+            if (tree.get(node.key) != node) {
+                return false;
+            }
+            tree.remove(node.key);
+            if (tree.size() <= UNTREEIFY_THRESHOLD) {
+                list = new ArrayList<>(tree.values());
+                tree = null;
+            }
+            return true;
+        }
+
+        @Override
+        public Iterator<Node> iterator() {
+            return tree != null ? tree.values().iterator() : list.iterator();
+        }
+
+        @Override
+        public int size() {
+            return tree != null ? tree.size() : list.size();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package hashmap;
+
+import java.util.Locale;
+
+/**
+ *  A snapshot of MyHashMap's instrumentation, from MyHashMap.stats().
+ *
+ *  Reading it: a long chain tail with a low load factor points at a poor
+ *  hashCode; uniformly long chains point at too high a maxLoad; short chains
+ *  with high probes per get point at a bucket type that searches slowly.
+ */
+public class MyHashMapStats {
+    /** Chains of this length or longer share the last histogram bin. */
+    public static final int HISTOGRAM_BINS = 17;
+
+    private final int size;
+    private final int buckets;
+    private final int[] chainHistogram;
+    private final int maxChain;
+    private final long gets;
+    private final long sampledGets;
+    private final long sampledProbes;
+    private final int resizes;
+    private final long resizeNanos;
+
+    MyHashMapStats(int size, int buckets, int[] chainHistogram, int maxChain, long gets,
+                   long sampledGets, long sampledProbes, int resizes, long resizeNanos) {
+        this.size = size;
+        this.buckets = buckets;
+        this.chainHistogram = chainHistogram;
+        this.maxChain = maxChain;
+        this.gets = gets;
+        this.sampledGets = sampledGets;
+        this.sampledProbes = sampledProbes;
+        this.resizes = resizes;
+        this.resizeNanos = resizeNanos;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Buckets in the table (in both tables while an incremental resize runs). */
+    public int buckets() {
+        return buckets;
+    }
+
+    public double loadFactor() {
+        return (double) size / buckets;
+    }
+
+    /**
+     * Returns how many buckets hold exactly i nodes, at index i. The last bin
+     * counts every bucket with HISTOGRAM_BINS - 1 or more nodes.
+     */
+    public int[] chainHistogram() {
+        return chainHistogram.clone();
+    }
+
+    public int maxChain() {
+        return maxChain;
+    }
+
+    /** Calls to get() since the map was created. */
+    public long gets() {
+        return gets;
+    }
+
+    /** Average nodes examined per get(), from a sample of the calls; NaN if none were sampled. */
+    public double averageProbesPerGet() {
+        return sampledGets == 0 ? Double.NaN : (double) sampledProbes / sampledGets;
+    }
+
+    public int resizes() {
+        return resizes;
+    }
+
+    /** Time spent rehashing, including incremental migration steps. */
+    public double resizeMillis() {
+        return resizeNanos / 1e6;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT,
+                "size %d, buckets %d, load %.2f, max chain %d%n", size, buckets, loadFactor(),
+                maxChain));
+        sb.append("gets ").append(gets).append(", probes/get ")
+                .append(sampledGets == 0 ? "n/a"
+                        : String.format(Locale.ROOT, "%.2f (sampled %d)", averageProbesPerGet(),
+                                sampledGets))
+                .append(String.format(Locale.ROOT, ", resizes %d taking %.1f ms%n",
+                        resizes, resizeMillis()));
+        sb.append("chain length: buckets");
+        for (int i = 0; i < chainHistogram.length; i += 1) {
+            if (chainHistogram[i] != 0) {
+                sb.append(i == chainHistogram.length - 1 ? "  " + i + "+:" : "  " + i + ":")
+                        .append(chainHistogram[i]);
+            }
+        }
+        return sb.append(System.lineSeparator()).toString();
+    }
+}
@@ -0,0 +1,267 @@
+package hashmap;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ *  A hash table-backed Map implementation that uses open addressing instead
+ *  of buckets. Keys, values and hashes live in three parallel arrays, so an
+ *  entry costs three array slots and no Node or bucket object, and a probe
+ *  walks contiguous memory.
+ *
+ *  Collisions are resolved with Robin Hood linear probing: an entry being
+ *  inserted takes the slot of any resident that sits closer to its own home
+ *  slot, so probe lengths stay short and even at high load. A lookup can stop
+ *  as soon as it reaches an entry closer to home than the key it is looking
+ *  for would be. remove() uses backward-shift deletion (the entries after the
+ *  hole slide back one slot) so no tombstones are ever left behind.
+ *
+ *  The table length is always a power of two. Assumes null keys will never be
+ *  inserted, and does not resize down upon remove().
+ */
+public class OpenAddressingHashMap<K, V> implements Map61B<K, V> {
+    private static final int DEFAULT_INITIAL_SIZE = 16;
+    private static final double DEFAULT_MAX_LOAD = 0.75;
+
+    /* Instance Variables */
+    private Object[] keys;
+    private Object[] values;
+    /** The spread hash of each key, so probes compare ints before calling equals. */
+    private int[] hashes;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    private final double maxLoad;
+
+    /** Constructors */
+    public OpenAddressingHashMap() {
+        this(DEFAULT_INITIAL_SIZE, DEFAULT_MAX_LOAD);
+    }
+
+    public OpenAddressingHashMap(int initialSize) {
+        this(initialSize, DEFAULT_MAX_LOAD);
+    }
+
+    /**
+     * OpenAddressingHashMap constructor that creates a backing array of at
+     * least initialSize slots. The load factor (# items / # slots) is kept
+     * <= maxLoad, which must be below 1 since every item needs its own slot.
+     *
+     * @param initialSize initial size of backing array
+     * @param maxLoad maximum load factor
+     */
+    public OpenAddressingHashMap(int initialSize, double maxLoad) {
+        if (initialSize < 1) {
+            throw new IllegalArgumentException("initialSize must be positive: " + initialSize);
+        }
+        if (!(maxLoad > 0 && maxLoad < 1)) {
+            throw new IllegalArgumentException("maxLoad must be in (0, 1): " + maxLoad);
+        }
+        this.maxLoad = maxLoad;
+        allocate(tableSizeFor(initialSize));
+    }
+
+    /** Returns the smallest power of two that is >= n. */
+    private static int tableSizeFor(int n) {
+        int size = Integer.highestOneBit(Math.max(n, 2) - 1) << 1;
+        if (size <= 0) {
+            throw new IllegalArgumentException("table too large: " + n);
+        }
+        return size;
+    }
+
+    /** Mixes the high bits of h into the low bits the mask keeps. */
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private void allocate(int tableSize) {
+        keys = new Object[tableSize];
+        values = new Object[tableSize];
+        hashes = new int[tableSize];
+        mask = tableSize - 1;
+        resizeAt = (int) Math.min(tableSize - 1L, (long) (tableSize * maxLoad));
+    }
+
+    /** Returns how far slot i is from the home slot of the entry in it. */
+    private int distance(int i) {
+        return (i - hashes[i]) & mask;
+    }
+
+    /** Returns the slot holding key, or -1 if there is none. */
+    private int findSlot(Object key) {
+        int h = spread(key.hashCode());
+        int i = h & mask;
+        for (int dist = 0; keys[i] != null; dist += 1) {
+            if (hashes[i] == h && key.equals(keys[i])) {
+                return i;
+            }
+            if (distance(i) < dist) {
+                return -1;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Inserts an entry known not to be present, displacing residents that
+     * are closer to home than the entry being carried.
+     */
+    private void insert(Object key, Object value, int h) {
+        int i = h & mask;
+        int dist = 0;
+        while (keys[i] != null) {
+            int residentDist = distance(i);
+            if (residentDist < dist) {
+                Object k = keys[i];
+                Object v = values[i];
+                int rh = hashes[i];
+                keys[i] = key;
+                values[i] = value;
+                hashes[i] = h;
+                key = k;
+                value = v;
+                h = rh;
+                dist = residentDist;
+            }
+            i = (i + 1) & mask;
+            dist += 1;
+        }
+        keys[i] = key;
+        values[i] = value;
+        hashes[i] = h;
+    }
+
+    /** Reinserts every entry into a table of newSize slots. */
+    private void resize(int newSize) {
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+        allocate(newSize);
+        for (int i = 0; i < oldKeys.length; i += 1) {
+            if (oldKeys[i] != null) {
+                insert(oldKeys[i], oldValues[i], oldHashes[i]);
+            }
+        }
+    }
+
+    /** Empties slot i and slides the run after it back one slot. */
+    private void deleteSlot(int i) {
+        int next = (i + 1) & mask;
+        while (keys[next] != null && distance(next) > 0) {
+            keys[i] = keys[next];
+            values[i] = values[next];
+            hashes[i] = hashes[next];
+            i = next;
+            next = (next + 1) & mask;
+        }
+        keys[i] = null;
+        values[i] = null;
+        size -= 1;
+    }
+
+    @Override
+    public void clear() {
+        allocate(keys.length);
+        size = 0;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return findSlot(key) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        int i = findSlot(key);
+        return i < 0 ? null : (V) values[i];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        int i = findSlot(key);
+        if (i >= 0) {
+            values[i] = value;
+            return;
+        }
+        if (size + 1 > resizeAt) {
+            resize(keys.length * 2);
+        }
+        insert(key, value, spread(key.hashCode()));
+        size += 1;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        Set<K> set = new HashSet<>();
+        for (K key : this) {
+            set.add(key);
+        }
+        return set;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(K key) {
+        int i = findSlot(key);
+        if (i < 0) {
+            return null;
+        }
+        V old = (V) values[i];
+        deleteSlot(i);
+        return old;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(K key, V value) {
+        int i = findSlot(key);
+        if (i < 0) {
+            return null;
+        }
+        V old = (V) values[i];
+        if (value == null ? old != null : !value.equals(old)) {
+            return null;
+        }
+        deleteSlot(i);
+        return old;
+    }
+
+    @Override
+    public Iterator<K> iterator() {
+        return new KeyIterator();
+    }
+
+    /** Walks the slots in table order. */
+    private class KeyIterator implements Iterator<K> {
+        private int slot = 0;
+
+        @Override
+        public boolean hasNext() {
+            while (slot < keys.length && keys[slot] == null) {
+                slot += 1;
+            }
+            return slot < keys.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public K next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            K key = (K) keys[slot];
+            slot += 1;
+            return key;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package hashmap;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+
+/** Tests of CompactMyHashMap's index chains, relinked on remove with
+ *  colliding and random keys, and of the cached hashes resizes reuse. */
+public class TestCompactMyHashMap {
+
+    @Test
+    public void sanityTests() {
+        TestMyHashMap.sanityTests(CompactMyHashMap::new, CompactMyHashMap::new);
+    }
+
+    /** Removing from a chain must relink it, and the entry moved into the
+     *  hole must stay reachable from its own chain. */
+    @Test
+    public void collidingKeysTest() {
+        // "Aa" and "BB" have the same hashCode, and so do all their concatenations
+        String[] keys = {"AaAa", "AaBB", "BBAa", "BBBB", "other"};
+        CompactMyHashMap<String, Integer> m = new CompactMyHashMap<>(4);
+        for (int i = 0; i < keys.length; i++) {
+            m.put(keys[i], i);
+        }
+        assertEquals(1, m.remove("AaBB").intValue());
+        assertNull(m.get("AaBB"));
+        assertEquals(0, m.get("AaAa").intValue());
+        assertEquals(2, m.get("BBAa").intValue());
+        assertEquals(3, m.get("BBBB").intValue());
+        assertEquals(4, m.get("other").intValue());
+        assertNull(m.remove("other", 7));
+        assertEquals(4, m.remove("other", 4).intValue());
+        assertEquals(0, m.remove("AaAa").intValue());
+        assertEquals(2, m.size());
+        assertEquals(2, m.get("BBAa").intValue());
+        assertEquals(3, m.get("BBBB").intValue());
+    }
+
+    /** Random puts and removes, checked against java.util.HashMap. */
+    @Test
+    public void randomizedTest() {
+        Random random = new Random(61);
+        CompactMyHashMap<Integer, Integer> m = new CompactMyHashMap<>(1, 2.0);
+        HashMap<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 200000; i++) {
+            Integer key = random.nextInt(2000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), m.remove(key));
+            } else {
+                m.put(key, i);
+                expected.put(key, i);
+            }
+            assertEquals(expected.size(), m.size());
+            assertEquals(expected.get(key), m.get(key));
+        }
+        for (Integer key : expected.keySet()) {
+            assertEquals(expected.get(key), m.get(key));
+        }
+        assertEquals(expected.keySet(), m.keySet());
+    }
+
+    /** A key that counts calls to hashCode and equals. */
+    private static class CountingKey {
+        static int hashCodes;
+        static int equalsCalls;
+        private final int id;
+
+        CountingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            hashCodes += 1;
+            return id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            equalsCalls += 1;
+            return o instanceof CountingKey && ((CountingKey) o).id == id;
+        }
+    }
+
+    /** Resizes reuse the cached hashes, and equals only runs on a hash match. */
+    @Test
+    public void cachedHashTest() {
+        CountingKey.hashCodes = 0;
+        CountingKey.equalsCalls = 0;
+        CompactMyHashMap<CountingKey, Integer> m = new CompactMyHashMap<>(1, 4.0);
+        for (int i = 0; i < 10000; i++) {
+            m.put(new CountingKey(i), i);
+        }
+        // one hashCode per put, none for the dozen resizes; every id is distinct
+        assertEquals(10000, CountingKey.hashCodes);
+        assertEquals(0, CountingKey.equalsCalls);
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(i, m.get(new CountingKey(i)).intValue());
+        }
+        assertEquals(20000, CountingKey.hashCodes);
+        assertEquals(10000, CountingKey.equalsCalls);
+    }
+}
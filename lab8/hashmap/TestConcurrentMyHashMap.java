@@ -0,0 +1,138 @@
+package hashmap;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/** Tests that ConcurrentMyHashMap grows on its total size, matches
+ *  java.util.HashMap from one thread, and keeps every key visible while
+ *  several threads put and read across resizes. */
+public class TestConcurrentMyHashMap {
+    private static final int THREADS = 4;
+
+    @Test
+    public void sanityTests() {
+        TestMyHashMap.sanityTests(ConcurrentMyHashMap::new, ConcurrentMyHashMap::new);
+        // one stripe, and a table that starts smaller than the stripe count
+        TestMyHashMap.sanityTests(() -> new ConcurrentMyHashMap<>(1, 0.75, 1),
+                () -> new ConcurrentMyHashMap<>(1, 0.75, 1));
+        TestMyHashMap.sanityTests(() -> new ConcurrentMyHashMap<>(1, 0.75, 4),
+                () -> new ConcurrentMyHashMap<>(1, 0.75, 4));
+    }
+
+    /** The table grows with the total size, however the keys fall into stripes. */
+    @Test
+    public void growthTest() {
+        ConcurrentMyHashMap<Integer, Integer> m = new ConcurrentMyHashMap<>();
+        m.put(0, 0);
+        assertEquals(64, m.capacity());
+        // multiples of 64 share their low bits, and so would share a stripe unmixed
+        for (int i = 1; i < 1024; i++) {
+            m.put(i * 64, i);
+        }
+        assertEquals(1024, m.size());
+        assertEquals(2048, m.capacity());
+    }
+
+    /** Random puts and removes from one thread, checked against java.util.HashMap. */
+    @Test
+    public void randomizedTest() {
+        Random random = new Random(61);
+        ConcurrentMyHashMap<Integer, Integer> m = new ConcurrentMyHashMap<>(1, 0.75, 8);
+        HashMap<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            Integer key = random.nextInt(5000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), m.remove(key));
+            } else {
+                m.put(key, i);
+                expected.put(key, i);
+            }
+            assertEquals(expected.size(), m.size());
+            assertEquals(expected.get(key), m.get(key));
+        }
+        assertEquals(expected.keySet(), m.keySet());
+    }
+
+    /** Threads put disjoint key ranges into one small map, forcing many
+     *  cooperative resizes; every key must survive. */
+    @Test
+    public void concurrentPutTest() throws Exception {
+        ConcurrentMyHashMap<Integer, Integer> m = new ConcurrentMyHashMap<>(1, 0.75, 16);
+        int perThread = 50000;
+        runThreads(t -> {
+            for (int i = t * perThread; i < (t + 1) * perThread; i++) {
+                m.put(i, i);
+            }
+        });
+        assertEquals(THREADS * perThread, m.size());
+        for (int i = 0; i < THREADS * perThread; i++) {
+            assertEquals(i, m.get(i).intValue());
+        }
+        assertEquals(THREADS * perThread, m.keySet().size());
+    }
+
+    /** Keys put before the readers start must stay visible to lock-free
+     *  gets while writers add and remove other keys and the table grows. */
+    @Test
+    public void readDuringResizeTest() throws Exception {
+        ConcurrentMyHashMap<Integer, Integer> m = new ConcurrentMyHashMap<>(1, 0.75, 8);
+        int stable = 1000;
+        for (int i = 0; i < stable; i++) {
+            m.put(-i - 1, i);
+        }
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<>();
+        runThreads(t -> {
+            if (t < THREADS / 2) {
+                for (int i = 0; i < 100000; i++) {
+                    int key = t * 100000 + i;
+                    m.put(key, key);
+                    if (i % 3 == 0) {
+                        m.remove(key);
+                    }
+                }
+                writing.set(false);
+            } else {
+                while (writing.get()) {
+                    for (int i = 0; i < stable; i++) {
+                        Integer v = m.get(-i - 1);
+                        if (v == null || v != i) {
+                            failure.set("key " + (-i - 1) + " read as " + v);
+                        }
+                    }
+                }
+            }
+        });
+        assertNull(failure.get());
+        assertEquals(stable + (THREADS / 2) * (100000 - 33334), m.size());
+    }
+
+    private interface ThreadBody {
+        void run(int thread);
+    }
+
+    private static void runThreads(ThreadBody body) throws Exception {
+        List<Thread> threads = new ArrayList<>();
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        for (int t = 0; t < THREADS; t++) {
+            int id = t;
+            Thread thread = new Thread(() -> body.run(id));
+            thread.setUncaughtExceptionHandler((th, e) -> thrown.set(e));
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (thrown.get() != null) {
+            throw new AssertionError(thrown.get());
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package hashmap;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/** Tests of LinkedMyHashMap's list order, LRU eviction against
+ *  java.util.LinkedHashMap, CLOCK and weight eviction, and its hit counters. */
+public class TestLinkedMyHashMap {
+
+    @Test
+    public void sanityTests() {
+        for (LinkedMyHashMap.Order order : LinkedMyHashMap.Order.values()) {
+            TestMyHashMap.sanityTests(() -> new LinkedMyHashMap<>(order),
+                    () -> new LinkedMyHashMap<>(order));
+        }
+    }
+
+    private static <K> List<K> keysInOrder(Map61B<K, ?> m) {
+        List<K> keys = new ArrayList<>();
+        for (K key : m) {
+            keys.add(key);
+        }
+        return keys;
+    }
+
+    @Test
+    public void orderTest() {
+        LinkedMyHashMap<String, Integer> insertion = new LinkedMyHashMap<>();
+        LinkedMyHashMap<String, Integer> access =
+                new LinkedMyHashMap<>(LinkedMyHashMap.Order.ACCESS);
+        for (String key : new String[]{"c", "a", "d", "b"}) {
+            insertion.put(key, 0);
+            access.put(key, 0);
+        }
+        insertion.get("c");
+        access.get("c");
+        access.put("a", 1);
+        access.containsKey("d");
+        insertion.remove("d");
+        access.remove("d");
+        assertEquals(Arrays.asList("c", "a", "b"), keysInOrder(insertion));
+        assertEquals(Arrays.asList("b", "c", "a"), keysInOrder(access));
+    }
+
+    /** Random gets, puts and removes on a small LRU cache, checked against
+     *  java.util.LinkedHashMap in access order. */
+    @Test
+    public void lruMatchesLinkedHashMapTest() {
+        final int max = 50;
+        Map<Integer, Integer> expected = new LinkedHashMap<Integer, Integer>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest) {
+                return size() > max;
+            }
+        };
+        LinkedMyHashMap<Integer, Integer> m =
+                new LinkedMyHashMap<>(LinkedMyHashMap.Order.ACCESS, max);
+        Random random = new Random(61);
+        for (int i = 0; i < 100000; i++) {
+            Integer key = random.nextInt(200);
+            int op = random.nextInt(10);
+            if (op < 5) {
+                assertEquals(expected.get(key), m.get(key));
+            } else if (op < 9) {
+                expected.put(key, i);
+                m.put(key, i);
+            } else {
+                assertEquals(expected.remove(key), m.remove(key));
+            }
+            assertEquals(expected.size(), m.size());
+        }
+        assertEquals(new ArrayList<>(expected.keySet()), keysInOrder(m));
+    }
+
+    @Test
+    public void clockTest() {
+        LinkedMyHashMap<String, Integer> m = new LinkedMyHashMap<>(LinkedMyHashMap.Order.CLOCK, 3);
+        List<String> evicted = new ArrayList<>();
+        m.setEvictionListener((k, v) -> evicted.add(k));
+        m.put("a", 1);
+        m.put("b", 2);
+        m.put("c", 3);
+        // every key starts referenced, so the first sweep clears all three and takes a
+        m.put("d", 4);
+        assertEquals(Arrays.asList("a"), evicted);
+        // b and c now have clear bits; using b gives it a second chance over c
+        m.get("b");
+        m.put("e", 5);
+        assertEquals(Arrays.asList("a", "c"), evicted);
+        assertTrue(m.containsKey("b"));
+        assertEquals(3, m.size());
+        assertEquals(2, m.evictions());
+    }
+
+    @Test
+    public void weightTest() {
+        LinkedMyHashMap<String, String> m = new LinkedMyHashMap<>();
+        m.setMaxWeight(10, (k, v) -> v.length());
+        List<String> evicted = new ArrayList<>();
+        m.setEvictionListener((k, v) -> evicted.add(k + "=" + v));
+        m.put("a", "1234");
+        m.put("b", "1234");
+        assertEquals(8, m.weight());
+        m.put("c", "123");
+        assertEquals(Arrays.asList("a=1234"), evicted);
+        assertEquals(7, m.weight());
+        // replacing a value reweighs it
+        m.put("c", "123456");
+        assertEquals(10, m.weight());
+        m.remove("b");
+        assertEquals(6, m.weight());
+        // too heavy to keep at all, but only it goes
+        m.put("d", "12345678901");
+        assertEquals(1, m.size());
+        assertEquals(6, m.weight());
+        assertEquals("123456", m.get("c"));
+        assertEquals(Arrays.asList("a=1234", "d=12345678901"), evicted);
+        // the same when a replaced value makes an entry too heavy
+        m.put("c", "12345678901");
+        assertEquals(0, m.size());
+        assertEquals(Arrays.asList("a=1234", "d=12345678901", "c=12345678901"), evicted);
+        // lowering the limit evicts whatever is now too heavy by itself first
+        m.put("e", "12345");
+        m.put("f", "1");
+        m.setMaxWeight(4, (k, v) -> v.length());
+        assertEquals(1, m.weight());
+        assertEquals("1", m.get("f"));
+        assertEquals("e=12345", evicted.get(evicted.size() - 1));
+    }
+
+    /** In ACCESS order a get() relinks its node, so iterating must fail fast. */
+    @Test(expected = ConcurrentModificationException.class)
+    public void iterateAndGetTest() {
+        LinkedMyHashMap<String, Integer> m = new LinkedMyHashMap<>(LinkedMyHashMap.Order.ACCESS);
+        m.put("a", 1);
+        m.put("b", 2);
+        m.put("c", 3);
+        for (String key : m) {
+            m.get(key);
+        }
+    }
+
+    /** A put that evicts the iterator's next node must not end iteration quietly. */
+    @Test(expected = ConcurrentModificationException.class)
+    public void iterateAndEvictTest() {
+        LinkedMyHashMap<Integer, Integer> m = new LinkedMyHashMap<>(LinkedMyHashMap.Order.INSERTION, 3);
+        for (int i = 0; i < 3; i++) {
+            m.put(i, i);
+        }
+        for (Integer key : m) {
+            m.put(key + 10, key);
+        }
+    }
+
+    @Test
+    public void countersTest() {
+        LinkedMyHashMap<Integer, String> m = new LinkedMyHashMap<>(LinkedMyHashMap.Order.ACCESS, 2);
+        int[] loads = {0};
+        for (int key : new int[]{1, 2, 1, 3, 2, 1}) {
+            m.getOrCompute(key, k -> {
+                loads[0] += 1;
+                return "v" + k;
+            });
+        }
+        // 1, 2 miss; 1 hits; 3 misses and evicts 2; 2 misses and evicts 1; 1 misses
+        assertEquals(1, m.hits());
+        assertEquals(5, m.misses());
+        assertEquals(5, loads[0]);
+        assertEquals(3, m.evictions());
+        assertEquals(Arrays.asList(2, 1), keysInOrder(m));
+        m.clear();
+        assertEquals(0, m.weight());
+        assertFalse(m.iterator().hasNext());
+    }
+}
@@ -0,0 +1,166 @@
+package hashmap;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/** Tests that a MappedHashMap survives close and reopen, refuses a codec it
+ *  was not made with, compacts its log without losing records at segment
+ *  edges, and ignores a leftover index.tmp. */
+public class TestMappedHashMap {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /** Maps a test hands off without closing; closed after each test. */
+    private final List<MappedHashMap<?, ?>> opened = new ArrayList<>();
+
+    @After
+    public void closeOpened() throws IOException {
+        for (MappedHashMap<?, ?> m : opened) {
+            m.close();
+        }
+    }
+
+    private <M extends MappedHashMap<?, ?>> M track(M m) {
+        opened.add(m);
+        return m;
+    }
+
+    private interface Opener<V> {
+        MappedHashMap<String, V> open(Path dir) throws IOException;
+    }
+
+    /** Opens a tracked map in a new directory on each call. */
+    private <V> Supplier<MappedHashMap<String, V>> tracked(Opener<V> opener) {
+        return () -> {
+            try {
+                return track(opener.open(newDir()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private Path newDir() throws IOException {
+        return folder.newFolder().toPath();
+    }
+
+    private MappedHashMap<String, Integer> ints(Path dir) throws IOException {
+        return new MappedHashMap<>(dir, MappedHashMap.STRINGS, MappedHashMap.INTEGERS);
+    }
+
+    private MappedHashMap<String, String> strings(Path dir) throws IOException {
+        return new MappedHashMap<>(dir, MappedHashMap.STRINGS, MappedHashMap.STRINGS, 256);
+    }
+
+    @Test
+    public void sanityTests() throws IOException {
+        TestMyHashMap.sanityTests(tracked(this::ints), tracked(this::strings));
+    }
+
+    /** Everything put before close() is there after reopening. */
+    @Test
+    public void reopenTest() throws IOException {
+        Path dir = newDir();
+        try (MappedHashMap<String, Integer> m = ints(dir)) {
+            for (int i = 0; i < 100000; i++) {
+                m.put("key" + i, i);
+            }
+            m.remove("key7");
+            m.put("key8", -8);
+        }
+        try (MappedHashMap<String, Integer> m = ints(dir)) {
+            assertEquals(99999, m.size());
+            assertNull(m.get("key7"));
+            assertEquals(-8, (int) m.get("key8"));
+            for (int i = 9; i < 100000; i++) {
+                assertEquals(i, (int) m.get("key" + i));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrongCodecTest() throws IOException {
+        Path dir = newDir();
+        ints(dir).close();
+        new MappedHashMap<>(dir, MappedHashMap.STRINGS, MappedHashMap.LONGS);
+    }
+
+    /** Random puts and removes of variable-size values, checked against
+     *  java.util.HashMap, with compactions and a reopen along the way. */
+    @Test
+    public void randomizedTest() throws IOException {
+        Path dir = newDir();
+        MappedHashMap<String, String> m = strings(dir);
+        HashMap<String, String> expected = new HashMap<>();
+        Random random = new Random(61);
+        for (int i = 0; i < 50000; i++) {
+            String key = "k" + random.nextInt(3000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), m.remove(key));
+            } else {
+                // up to 100 bytes, so many records end up against the 256-byte segment edge
+                char[] value = new char[random.nextInt(100)];
+                Arrays.fill(value, (char) ('a' + random.nextInt(26)));
+                m.put(key, new String(value));
+                expected.put(key, new String(value));
+            }
+            assertEquals(expected.size(), m.size());
+            assertEquals(expected.get(key), m.get(key));
+            if (i % 10000 == 9999) {
+                assertTrue(m.garbageBytes() > 0);
+                m.compact();
+                assertEquals(0, m.garbageBytes());
+            }
+            if (i == 25000) {
+                m.close();
+                m = strings(dir);
+            }
+        }
+        for (String key : expected.keySet()) {
+            assertEquals(expected.get(key), m.get(key));
+        }
+        assertEquals(expected.keySet(), m.keySet());
+        m.close();
+        // compaction leaves one log behind, plus the index
+        assertEquals(new HashSet<>(Arrays.asList("index", "log.5")),
+                new HashSet<>(Arrays.asList(dir.toFile().list())));
+    }
+
+    @Test
+    public void removeValueTest() throws IOException {
+        MappedHashMap<String, Integer> m = ints(newDir());
+        m.put("a", 1);
+        assertNull(m.remove("a", 2));
+        assertEquals(1, (int) m.remove("a", 1));
+        assertFalse(m.containsKey("a"));
+        m.close();
+    }
+
+    /** A leftover index.tmp from an interrupted resize is ignored. */
+    @Test
+    public void leftoverTmpTest() throws IOException {
+        Path dir = newDir();
+        MappedHashMap<String, Integer> m = ints(dir);
+        m.put("a", 1);
+        m.close();
+        assertTrue(new File(dir.toFile(), "index.tmp").createNewFile());
+        m = ints(dir);
+        assertEquals(1, (int) m.get("a"));
+        m.close();
+    }
+}
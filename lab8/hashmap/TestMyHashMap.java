@@ -5,6 +5,7 @@ import org.junit.Test;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Tests by Brendan Hu, Spring 2015
@@ -27,7 +28,7 @@ public class TestMyHashMap {
         sanityClearTest(new MyHashMap<>());
     }
 
-    public static void sanityClearTest(MyHashMap<String, Integer> b) {
+    public static void sanityClearTest(Map61B<String, Integer> b) {
         for (int i = 0; i < 455; i++) {
             b.put("hi" + i, 1);
             //make sure put is working via containsKey and get
@@ -47,7 +48,7 @@ public class TestMyHashMap {
         sanityContainsKeyTest(new MyHashMap<>());
     }
 
-    public static void sanityContainsKeyTest(MyHashMap<String, Integer> b) {
+    public static void sanityContainsKeyTest(Map61B<String, Integer> b) {
         assertFalse(b.containsKey("waterYouDoingHere"));
         b.put("waterYouDoingHere", 0);
         assertTrue(b.containsKey("waterYouDoingHere"));
@@ -59,7 +60,7 @@ public class TestMyHashMap {
         sanityGetTest(new MyHashMap<>());
     }
 
-    public static void sanityGetTest(MyHashMap<String, Integer> b) {
+    public static void sanityGetTest(Map61B<String, Integer> b) {
         assertEquals(null, b.get("starChild"));
         b.put("starChild", 5);
         assertNotEquals(null, b.get("starChild"));
@@ -74,7 +75,7 @@ public class TestMyHashMap {
         sanitySizeTest(new MyHashMap<>());
     }
 
-    public static void sanitySizeTest(MyHashMap<String, Integer> b) {
+    public static void sanitySizeTest(Map61B<String, Integer> b) {
         assertEquals(0, b.size());
         b.put("hi", 1);
         assertEquals(1, b.size());
@@ -90,7 +91,7 @@ public class TestMyHashMap {
         sanityPutTest(new MyHashMap<>());
     }
 
-    public static void sanityPutTest(MyHashMap<String, Integer> b) {
+    public static void sanityPutTest(Map61B<String, Integer> b) {
         b.put("hi", 1);
         assertTrue(b.containsKey("hi") && b.get("hi") != null);
     }
@@ -100,7 +101,7 @@ public class TestMyHashMap {
         sanityKeySetTest(new MyHashMap<>());
     }
 
-    public static void sanityKeySetTest(MyHashMap<String, Integer> b) {
+    public static void sanityKeySetTest(Map61B<String, Integer> b) {
         HashSet<String> values = new HashSet<String>();
         for (int i = 0; i < 455; i++) {
             b.put("hi" + i, 1);
@@ -118,8 +119,8 @@ public class TestMyHashMap {
         functionalityTest(new MyHashMap<>(), new MyHashMap<>());
     }
 
-    public static void functionalityTest(MyHashMap<String, String> dictionary,
-                                   MyHashMap<String, Integer> studentIDs) {
+    public static void functionalityTest(Map61B<String, String> dictionary,
+                                   Map61B<String, Integer> studentIDs) {
         assertEquals(0, dictionary.size());
 
         // can put objects in dictionary and get them
@@ -158,4 +159,17 @@ public class TestMyHashMap {
         assertEquals(345, studentIDs.get("evil alan").intValue());
         assertEquals(studentIDs.get("evil alan"), studentIDs.get("alan"));
     }
+
+    /** Runs each sanity test above, and functionalityTest, on fresh maps
+     *  from the suppliers; for the other Map61B implementations. */
+    public static void sanityTests(Supplier<? extends Map61B<String, Integer>> ints,
+                                   Supplier<? extends Map61B<String, String>> strings) {
+        sanityClearTest(ints.get());
+        sanityContainsKeyTest(ints.get());
+        sanityGetTest(ints.get());
+        sanitySizeTest(ints.get());
+        sanityPutTest(ints.get());
+        sanityKeySetTest(ints.get());
+        functionalityTest(strings.get(), ints.get());
+    }
 }
@@ -36,6 +36,11 @@ public class TestMyHashMapBuckets {
         b = new MyHashMapPQBuckets<>();
         c = new MyHashMapPQBuckets<>();
         d = new MyHashMapPQBuckets<>();
+
+        a = new MyHashMapAdaptiveBuckets<>();
+        b = new MyHashMapAdaptiveBuckets<>();
+        c = new MyHashMapAdaptiveBuckets<>();
+        d = new MyHashMapAdaptiveBuckets<>();
     }
 
     //assumes put/size/containsKey/get work
@@ -46,6 +51,7 @@ public class TestMyHashMapBuckets {
         TestMyHashMap.sanityClearTest(new MyHashMapTSBuckets<>());
         TestMyHashMap.sanityClearTest(new MyHashMapHSBuckets<>());
         TestMyHashMap.sanityClearTest(new MyHashMapPQBuckets<>());
+        TestMyHashMap.sanityClearTest(new MyHashMapAdaptiveBuckets<>());
     }
 
     // assumes put works
@@ -56,6 +62,7 @@ public class TestMyHashMapBuckets {
         TestMyHashMap.sanityContainsKeyTest(new MyHashMapTSBuckets<>());
         TestMyHashMap.sanityContainsKeyTest(new MyHashMapHSBuckets<>());
         TestMyHashMap.sanityContainsKeyTest(new MyHashMapPQBuckets<>());
+        TestMyHashMap.sanityContainsKeyTest(new MyHashMapAdaptiveBuckets<>());
     }
 
     // assumes put works
@@ -66,6 +73,7 @@ public class TestMyHashMapBuckets {
         TestMyHashMap.sanityGetTest(new MyHashMapTSBuckets<>());
         TestMyHashMap.sanityGetTest(new MyHashMapHSBuckets<>());
         TestMyHashMap.sanityGetTest(new MyHashMapPQBuckets<>());
+        TestMyHashMap.sanityGetTest(new MyHashMapAdaptiveBuckets<>());
     }
 
     // assumes put works
@@ -76,6 +84,7 @@ public class TestMyHashMapBuckets {
         TestMyHashMap.sanitySizeTest(new MyHashMapTSBuckets<>());
         TestMyHashMap.sanitySizeTest(new MyHashMapHSBuckets<>());
         TestMyHashMap.sanitySizeTest(new MyHashMapPQBuckets<>());
+        TestMyHashMap.sanitySizeTest(new MyHashMapAdaptiveBuckets<>());
     }
 
     //assumes get/containskey work
@@ -86,6 +95,7 @@ public class TestMyHashMapBuckets {
         TestMyHashMap.sanityPutTest(new MyHashMapTSBuckets<>());
         TestMyHashMap.sanityPutTest(new MyHashMapHSBuckets<>());
         TestMyHashMap.sanityPutTest(new MyHashMapPQBuckets<>());
+        TestMyHashMap.sanityPutTest(new MyHashMapAdaptiveBuckets<>());
     }
 
     @Test
@@ -95,6 +105,7 @@ public class TestMyHashMapBuckets {
         TestMyHashMap.sanityKeySetTest(new MyHashMapTSBuckets<>());
         TestMyHashMap.sanityKeySetTest(new MyHashMapHSBuckets<>());
         TestMyHashMap.sanityKeySetTest(new MyHashMapPQBuckets<>());
+        TestMyHashMap.sanityKeySetTest(new MyHashMapAdaptiveBuckets<>());
     }
 
     // Test for general functionality and that the properties of Maps hold.
@@ -105,5 +116,47 @@ public class TestMyHashMapBuckets {
         TestMyHashMap.functionalityTest(new MyHashMapTSBuckets<>(), new MyHashMapTSBuckets<>());
         TestMyHashMap.functionalityTest(new MyHashMapHSBuckets<>(), new MyHashMapHSBuckets<>());
         TestMyHashMap.functionalityTest(new MyHashMapPQBuckets<>(), new MyHashMapPQBuckets<>());
+        TestMyHashMap.functionalityTest(new MyHashMapAdaptiveBuckets<>(),
+                new MyHashMapAdaptiveBuckets<>());
+    }
+
+    /** 2^blocks distinct Strings that all share one hashCode, since "Aa"
+     *  and "BB" hash alike and so does any concatenation of them. */
+    static String[] collidingKeys(int blocks) {
+        String[] keys = new String[1 << blocks];
+        for (int i = 0; i < keys.length; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int b = 0; b < blocks; b++) {
+                sb.append(((i >> b) & 1) == 0 ? "Aa" : "BB");
+            }
+            keys[i] = sb.toString();
+        }
+        return keys;
+    }
+
+    /** Fills one bucket far past the treeify threshold, then drains it
+     *  back below the untreeify threshold. */
+    @Test
+    public void adaptiveCollisionTest() {
+        String[] keys = collidingKeys(10);
+        MyHashMapAdaptiveBuckets<String, Integer> m = new MyHashMapAdaptiveBuckets<>();
+        for (int i = 0; i < keys.length; i++) {
+            m.put(keys[i], i);
+        }
+        assertEquals(keys.length, m.size());
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(i, m.get(keys[i]).intValue());
+        }
+        assertEquals(keys.length, m.keySet().size());
+        for (int i = 0; i < keys.length - 3; i++) {
+            assertEquals(i, m.remove(keys[i]).intValue());
+            assertFalse(m.containsKey(keys[i]));
+        }
+        assertEquals(3, m.size());
+        for (int i = keys.length - 3; i < keys.length; i++) {
+            assertEquals(i, m.get(keys[i]).intValue());
+        }
+        m.put(keys[0], 0);
+        assertEquals(0, m.get(keys[0]).intValue());
     }
 }
@@ -3,6 +3,15 @@ package hashmap;
 import static org.junit.Assert.*;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
 /** Tests of optional parts of lab 8. */
 public class TestMyHashMapExtra {
 
@@ -49,4 +58,180 @@ public class TestMyHashMapExtra {
         assertTrue(q.containsKey("b"));
         assertTrue(q.containsKey("f"));
     }
+
+    private static <K, V> MyHashMap<K, V> incremental(int initialSize, double maxLoad) {
+        return new MyHashMap<>(initialSize, maxLoad, MyHashMap.ResizeMode.INCREMENTAL);
+    }
+
+    @Test
+    public void incrementalSanityTest() {
+        TestMyHashMap.sanityClearTest(incremental(16, 0.75));
+        TestMyHashMap.sanitySizeTest(incremental(1, 0.75));
+        TestMyHashMap.sanityKeySetTest(incremental(1, 0.75));
+        TestMyHashMap.functionalityTest(incremental(1, 0.75), incremental(1, 0.75));
+    }
+
+    /** Random puts and removes while tables are mid-migration, checked
+     *  against java.util.HashMap. A small maxLoad makes resizes start
+     *  before the previous migration has finished. */
+    @Test
+    public void incrementalRandomizedTest() {
+        for (double maxLoad : new double[] {0.1, 0.75, 4}) {
+            Random random = new Random(61);
+            MyHashMap<Integer, Integer> m = incremental(1, maxLoad);
+            HashMap<Integer, Integer> expected = new HashMap<>();
+            for (int i = 0; i < 50000; i++) {
+                Integer key = random.nextInt(5000);
+                if (random.nextInt(3) == 0) {
+                    assertEquals(expected.remove(key), m.remove(key));
+                } else {
+                    m.put(key, i);
+                    expected.put(key, i);
+                }
+                assertEquals(expected.size(), m.size());
+                assertEquals(expected.get(key), m.get(key));
+            }
+            assertEquals(expected.keySet(), m.keySet());
+        }
+    }
+
+    /** Iterating mid-migration sees every key exactly once. */
+    @Test
+    public void incrementalIteratorTest() {
+        MyHashMap<String, Integer> m = incremental(16, 0.75);
+        for (int i = 0; i < 13; i++) {
+            m.put("k" + i, i);   // the 13th put starts a resize
+        }
+        Set<String> seen = new HashSet<>();
+        int count = 0;
+        for (String key : m) {
+            seen.add(key);
+            count++;
+            assertNotNull(m.get(key));  // reads must not move buckets
+        }
+        assertEquals(13, count);
+        assertEquals(13, seen.size());
+    }
+
+    /** Every key collides, so one bucket holds them all. */
+    @Test
+    public void statsTest() {
+        String[] keys = TestMyHashMapBuckets.collidingKeys(5);
+        MyHashMap<String, Integer> m = new MyHashMap<>(16, 0.75);
+        for (int i = 0; i < keys.length; i++) {
+            m.put(keys[i], i);
+        }
+        for (int round = 0; round < 64; round++) {
+            for (String key : keys) {
+                m.get(key);
+            }
+        }
+        MyHashMapStats stats = m.stats();
+        assertEquals(32, stats.size());
+        assertEquals(64, stats.buckets());
+        assertEquals(2, stats.resizes());   // 16 -> 32 -> 64
+        assertEquals(32, stats.maxChain());
+        int[] histogram = stats.chainHistogram();
+        assertEquals(63, histogram[0]);
+        assertEquals(1, histogram[histogram.length - 1]);
+        assertEquals(64 * 32, stats.gets());
+        // each key sits at some position 1..32 in the chain
+        assertTrue(stats.averageProbesPerGet() >= 1 && stats.averageProbesPerGet() <= 32);
+
+        MyHashMapAdaptiveBuckets<String, Integer> adaptive = new MyHashMapAdaptiveBuckets<>();
+        for (int i = 0; i < keys.length; i++) {
+            adaptive.put(keys[i], i);
+        }
+        for (int i = 0; i < 64; i++) {
+            adaptive.get(keys[0]);
+        }
+        assertEquals(6.0, adaptive.stats().averageProbesPerGet(), 0);
+    }
+
+    /** Tables round up to a power of two and keep doubling from there. */
+    @Test
+    public void powerOfTwoTableTest() {
+        assertEquals(16, new MyHashMap<String, Integer>(10).stats().buckets());
+        assertEquals(1, new MyHashMap<String, Integer>(1).stats().buckets());
+        MyHashMap<Integer, Integer> m = new MyHashMap<>(3, 0.75);
+        for (int i = 0; i < 100; i++) {
+            m.put(i, i);
+        }
+        assertEquals(256, m.stats().buckets());
+    }
+
+    /**
+     * Small whole-number Doubles differ only in the high bits of their
+     * hashCodes; without mixing, they would share a handful of buckets.
+     */
+    @Test
+    public void spreadHighBitsTest() {
+        MyHashMap<Double, Integer> m = new MyHashMap<>();
+        for (int i = 0; i < 4096; i++) {
+            m.put((double) i, i);
+        }
+        MyHashMapStats stats = m.stats();
+        assertEquals(4096, stats.size());
+        assertTrue("max chain " + stats.maxChain(), stats.maxChain() <= 8);
+        for (int i = 0; i < 4096; i++) {
+            assertEquals(i, (int) m.get((double) i));
+        }
+    }
+
+    /** Keys 0..n-1 with every fifth one repeated later, and their values. */
+    private static void bulkInput(String[] keys, Integer[] values) {
+        for (int i = 0; i < keys.length; i++) {
+            int k = i % 5 == 4 ? i / 2 : i;
+            keys[i] = "key" + k;
+            values[i] = i;
+        }
+    }
+
+    /** putAll matches the same puts made one at a time, for several bucket types. */
+    @Test
+    public void bulkLoadTest() {
+        int n = 100000;
+        String[] keys = new String[n];
+        Integer[] values = new Integer[n];
+        bulkInput(keys, values);
+        HashMap<String, Integer> expected = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            expected.put(keys[i], values[i]);
+        }
+        List<MyHashMap<String, Integer>> maps = Arrays.asList(new MyHashMap<>(),
+                incremental(16, 0.75), new MyHashMapALBuckets<>(), new MyHashMapTSBuckets<>(),
+                new MyHashMapAdaptiveBuckets<>());
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (MyHashMap<String, Integer> m : maps) {
+                m.put("key3", -1);
+                m.put("existing", -2);
+                m.putAll(keys, values, pool);
+                assertEquals(expected.size() + 1, m.size());
+                for (String key : expected.keySet()) {
+                    assertEquals(expected.get(key), m.get(key));
+                }
+                assertEquals(-2, (int) m.get("existing"));
+                assertEquals(1, m.stats().resizes());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /** A parallel stream sees every key exactly once, mid-resize too. */
+    @Test
+    public void spliteratorTest() {
+        MyHashMap<Integer, Integer> m = incremental(16, 0.75);
+        for (int i = 0; i < 50000; i++) {
+            m.put(i, i);
+        }
+        // the table went 65536 -> 131072 at put 49153; old buckets are still left
+        assertTrue(m.stats().buckets() > 131072);
+        Set<Integer> seen = m.stream().parallel().collect(Collectors.toSet());
+        assertEquals(50000, seen.size());
+        assertEquals(50000L * 49999 / 2, m.stream().parallel().mapToLong(i -> i).sum());
+        assertNotNull(m.spliterator().trySplit());
+        assertEquals(m.keySet(), seen);
+    }
 }
@@ -0,0 +1,62 @@
+package hashmap;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+
+/** Tests of OpenAddressingHashMap's probe runs: colliding keys, and
+ *  backward-shift deletion under random puts and removes. */
+public class TestOpenAddressingHashMap {
+
+    @Test
+    public void sanityTests() {
+        TestMyHashMap.sanityTests(OpenAddressingHashMap::new, OpenAddressingHashMap::new);
+    }
+
+    /** Keys with equal hash codes share a probe run; removing from the middle
+     *  of the run must not cut off the keys after it. */
+    @Test
+    public void collidingKeysTest() {
+        // "Aa" and "BB" have the same hashCode, and so do all their concatenations
+        String[] keys = {"AaAa", "AaBB", "BBAa", "BBBB"};
+        OpenAddressingHashMap<String, Integer> m = new OpenAddressingHashMap<>(4);
+        for (int i = 0; i < keys.length; i++) {
+            m.put(keys[i], i);
+        }
+        assertEquals(4, m.size());
+        assertEquals(1, m.remove("AaBB").intValue());
+        assertNull(m.get("AaBB"));
+        assertEquals(0, m.get("AaAa").intValue());
+        assertEquals(2, m.get("BBAa").intValue());
+        assertEquals(3, m.get("BBBB").intValue());
+        assertNull(m.remove("BBBB", 7));
+        assertEquals(3, m.remove("BBBB", 3).intValue());
+        assertEquals(2, m.size());
+    }
+
+    /** Random puts and removes, checked against java.util.HashMap. */
+    @Test
+    public void randomizedTest() {
+        Random random = new Random(61);
+        OpenAddressingHashMap<Integer, Integer> m = new OpenAddressingHashMap<>(1, 0.9);
+        HashMap<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 200000; i++) {
+            // multiples of 64 share their low bits, so they form long probe runs
+            Integer key = random.nextInt(2000) * 64;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), m.remove(key));
+            } else {
+                m.put(key, i);
+                expected.put(key, i);
+            }
+            assertEquals(expected.size(), m.size());
+            assertEquals(expected.get(key), m.get(key));
+        }
+        for (Integer key : expected.keySet()) {
+            assertEquals(expected.get(key), m.get(key));
+        }
+        assertEquals(expected.keySet(), m.keySet());
+    }
+}
@@ -0,0 +1,80 @@
+package hashmap;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+
+/** Tests of IntMyHashMap and LongMyHashMap against java.util.HashMap. */
+public class TestPrimitiveMyHashMaps {
+
+    @Test
+    public void zeroKeyTest() {
+        IntMyHashMap<String> ints = new IntMyHashMap<>();
+        assertFalse(ints.containsKey(0));
+        ints.put(0, "zero");
+        ints.put(1, "one");
+        assertEquals(2, ints.size());
+        assertEquals("zero", ints.get(0));
+        assertNull(ints.remove(0, "one"));
+        assertEquals("zero", ints.remove(0, "zero"));
+        assertFalse(ints.containsKey(0));
+        assertEquals(1, ints.size());
+
+        LongMyHashMap<String> longs = new LongMyHashMap<>();
+        longs.put(0L, null);
+        assertTrue(longs.containsKey(0L));
+        assertEquals(1, longs.size());
+        longs.clear();
+        assertFalse(longs.containsKey(0L));
+        assertEquals(0, longs.size());
+    }
+
+    @Test
+    public void intRandomizedTest() {
+        Random random = new Random(61);
+        IntMyHashMap<Integer> m = new IntMyHashMap<>(1);
+        HashMap<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 200000; i++) {
+            // strided and negative keys, plus the occasional 0
+            int key = (random.nextInt(4000) - 2000) * 1024;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), m.remove(key));
+            } else {
+                m.put(key, i);
+                expected.put(key, i);
+            }
+            assertEquals(expected.size(), m.size());
+            assertEquals(expected.get(key), m.get(key));
+        }
+        int[] keys = m.keys();
+        Arrays.sort(keys);
+        assertArrayEquals(expected.keySet().stream().mapToInt(Integer::intValue).sorted().toArray(),
+                keys);
+    }
+
+    @Test
+    public void longRandomizedTest() {
+        Random random = new Random(61);
+        LongMyHashMap<Integer> m = new LongMyHashMap<>(1, 0.9);
+        HashMap<Long, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 200000; i++) {
+            // keys that differ only in their high 32 bits
+            long key = (long) (random.nextInt(4000) - 2000) << 32;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), m.remove(key));
+            } else {
+                m.put(key, i);
+                expected.put(key, i);
+            }
+            assertEquals(expected.size(), m.size());
+            assertEquals(expected.get(key), m.get(key));
+        }
+        long[] keys = m.keys();
+        Arrays.sort(keys);
+        assertArrayEquals(expected.keySet().stream().mapToLong(Long::longValue).sorted().toArray(),
+                keys);
+    }
+}
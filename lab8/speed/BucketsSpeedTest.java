@@ -11,6 +11,7 @@ import hashmap.MyHashMapLLBuckets;
 import hashmap.MyHashMapTSBuckets;
 import hashmap.MyHashMapHSBuckets;
 import hashmap.MyHashMapPQBuckets;
+import hashmap.MyHashMapAdaptiveBuckets;
 
 /** Performs a timing test on three different set implementations.
  *  @author Neil Kulkarni adapted from Josh Hug, Brendan Hu
@@ -18,10 +19,18 @@ import hashmap.MyHashMapPQBuckets;
 public class BucketsSpeedTest {
     /**
      * Requests user input and performs tests of three different set
-     * implementations. ARGS is unused. 
+     * implementations. If ARGS holds L and N, runs once with those instead
+     * of prompting, so the test can be scripted. For warmed-up measurements
+     * of more operations, see the lab8jmh benchmarks.
      */
     public static void main(String[] args) throws IOException {
         int N;
+        if (args.length == 2) {
+            int L = Integer.parseInt(args[0]);
+            N = Integer.parseInt(args[1]);
+            timeAllBuckets(N, L);
+            return;
+        }
         Scanner input = new Scanner(System.in);
 
         System.out.println("\n This program inserts random "
@@ -36,12 +45,7 @@ public class BucketsSpeedTest {
             System.out.print("\nEnter # strings to insert into each map: ");
             N = waitForPositiveInt(input);
 
-            // Test each of the map implementations
-            timeRandomMap61B(new MyHashMapALBuckets<>(), N, L);
-            timeRandomMap61B(new MyHashMapLLBuckets<>(), N, L);
-            timeRandomMap61B(new MyHashMapTSBuckets<>(), N, L);
-            timeRandomMap61B(new MyHashMapHSBuckets<>(), N, L);
-            timeRandomMap61B(new MyHashMapPQBuckets<>(), N, L);
+            timeAllBuckets(N, L);
 
             System.out.print("\nWould you like to try more timed-tests? (y/n)");
             repeat = input.nextLine();
@@ -49,6 +53,16 @@ public class BucketsSpeedTest {
         input.close();
     }
 
+    /** Tests each of the map implementations. */
+    private static void timeAllBuckets(int N, int L) {
+        timeRandomMap61B(new MyHashMapALBuckets<>(), N, L);
+        timeRandomMap61B(new MyHashMapLLBuckets<>(), N, L);
+        timeRandomMap61B(new MyHashMapTSBuckets<>(), N, L);
+        timeRandomMap61B(new MyHashMapHSBuckets<>(), N, L);
+        timeRandomMap61B(new MyHashMapPQBuckets<>(), N, L);
+        timeRandomMap61B(new MyHashMapAdaptiveBuckets<>(), N, L);
+    }
+
     /**
      * Returns time needed to put N random strings of length L into the
      * hashmap.Map61B 61bMap.
@@ -72,6 +86,7 @@ public class BucketsSpeedTest {
         try {
             double mapTime = insertRandom(map, N, L);
             System.out.printf(map.getClass() + ": %.2f sec\n", mapTime);
+            InsertRandomSpeedTest.printStatsIfRequested(map);
         } catch (StackOverflowError e) {
             printInfoOnStackOverflow(N, L);
         } catch (RuntimeException e) {
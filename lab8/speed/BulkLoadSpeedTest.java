@@ -0,0 +1,88 @@
+package speed;
+
+import edu.princeton.cs.algs4.Stopwatch;
+
+import java.io.IOException;
+import java.util.Scanner;
+
+import hashmap.MyHashMap;
+
+/**
+ * Times three ways of building a MyHashMap from N random Strings of length
+ * L: put() one key at a time, put() after ensureCapacity(N), and putAll(),
+ * which fills bucket ranges in parallel. Then times an aggregate over the
+ * keys, first with the iterator and then with a parallel stream.
+ */
+public class BulkLoadSpeedTest {
+    /**
+     * Requests L and N from the user. If ARGS holds L and N, runs once with
+     * those instead of prompting.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 2) {
+            timeBulkLoad(Integer.parseInt(args[1]), Integer.parseInt(args[0]));
+            return;
+        }
+        Scanner input = new Scanner(System.in);
+
+        System.out.println("\n This program builds a MyHashMap from N random Strings"
+                + " of length L, one key at a time and in bulk.\n");
+        System.out.print("What would you like L to be?: ");
+        int L = BucketsSpeedTest.waitForPositiveInt(input);
+
+        String repeat = "y";
+        do {
+            System.out.print("\nEnter N (e.g. 2000000): ");
+            timeBulkLoad(BucketsSpeedTest.waitForPositiveInt(input), L);
+
+            System.out.print("\nWould you like to try more timed-tests? (y/n): ");
+            repeat = input.nextLine();
+        } while (!repeat.equalsIgnoreCase("n") && !repeat.equalsIgnoreCase("no"));
+        input.close();
+    }
+
+    private static void timeBulkLoad(int N, int L) {
+        String[] keys = new String[N];
+        Integer[] values = new Integer[N];
+        for (int i = 0; i < N; i++) {
+            keys[i] = StringUtils.randomString(L);
+            values[i] = i;
+        }
+
+        Stopwatch sw = new Stopwatch();
+        MyHashMap<String, Integer> oneByOne = new MyHashMap<>();
+        for (int i = 0; i < N; i++) {
+            oneByOne.put(keys[i], values[i]);
+        }
+        System.out.printf("put() each key: %.2f sec%n", sw.elapsedTime());
+
+        sw = new Stopwatch();
+        MyHashMap<String, Integer> presized = new MyHashMap<>();
+        presized.ensureCapacity(N);
+        for (int i = 0; i < N; i++) {
+            presized.put(keys[i], values[i]);
+        }
+        System.out.printf("ensureCapacity(N), then put() each key: %.2f sec%n",
+                sw.elapsedTime());
+
+        sw = new Stopwatch();
+        MyHashMap<String, Integer> bulk = new MyHashMap<>();
+        bulk.putAll(keys, values);
+        System.out.printf("putAll(): %.2f sec%n", sw.elapsedTime());
+        InsertRandomSpeedTest.printStatsIfRequested(bulk);
+
+        sw = new Stopwatch();
+        long total = 0;
+        for (String key : bulk) {
+            total += key.chars().filter(c -> c == 'a').count();
+        }
+        System.out.printf("count 'a's with the iterator: %.2f sec [%d]%n", sw.elapsedTime(),
+                total);
+
+        sw = new Stopwatch();
+        total = bulk.stream().parallel().mapToLong(k -> k.chars().filter(c -> c == 'a').count())
+                .sum();
+        System.out.printf("count 'a's with a parallel stream: %.2f sec [%d]%n",
+                sw.elapsedTime(), total);
+    }
+}
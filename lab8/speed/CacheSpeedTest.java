@@ -0,0 +1,84 @@
+package speed;
+
+import edu.princeton.cs.algs4.Stopwatch;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.Scanner;
+
+import hashmap.LinkedMyHashMap;
+
+/**
+ * Uses LinkedMyHashMap as a bounded cache in front of a stand-in for an
+ * expensive computation, under each eviction order, and prints the time
+ * taken with the hits, misses and evictions. Requests are skewed the way
+ * cache traffic usually is: a few keys are asked for often and most rarely.
+ */
+public class CacheSpeedTest {
+    /** Distinct keys the requests are drawn from. */
+    private static final int UNIVERSE = 1 << 20;
+
+    /**
+     * Requests the number of lookups and the cache size from the user. If
+     * ARGS holds both, runs once with them instead of prompting.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 2) {
+            timeAllOrders(Integer.parseInt(args[0]), Integer.parseInt(args[1]));
+            return;
+        }
+        Scanner input = new Scanner(System.in);
+
+        System.out.println("\n This program sends N skewed lookups through a cache"
+                + " of C entries, for each eviction order.\n");
+
+        String repeat = "y";
+        do {
+            System.out.print("\nEnter N (e.g. 2000000): ");
+            int N = BucketsSpeedTest.waitForPositiveInt(input);
+            System.out.print("Enter C (e.g. 10000): ");
+            int C = BucketsSpeedTest.waitForPositiveInt(input);
+            timeAllOrders(N, C);
+
+            System.out.print("\nWould you like to try more timed-tests? (y/n): ");
+            repeat = input.nextLine();
+        } while (!repeat.equalsIgnoreCase("n") && !repeat.equalsIgnoreCase("no"));
+        input.close();
+    }
+
+    private static void timeAllOrders(int N, int C) {
+        Random random = new Random(61);
+        int[] requests = new int[N];
+        for (int i = 0; i < N; i++) {
+            // the 4th power piles requests onto the low keys
+            requests[i] = (int) (UNIVERSE * Math.pow(random.nextDouble(), 4));
+        }
+        for (LinkedMyHashMap.Order order : LinkedMyHashMap.Order.values()) {
+            timeCache(new LinkedMyHashMap<>(order, C), requests, order.toString());
+        }
+    }
+
+    /** Looks up every request, computing and caching the misses. */
+    private static void timeCache(LinkedMyHashMap<Integer, Integer> cache, int[] requests,
+                                  String label) {
+        Stopwatch sw = new Stopwatch();
+        long checksum = 0;
+        for (int key : requests) {
+            checksum += cache.getOrCompute(key, CacheSpeedTest::compute);
+        }
+        double seconds = sw.elapsedTime();
+        System.out.printf("%s: %.2f sec, hits %d, misses %d (hit rate %.1f%%), evictions %d"
+                        + " [checksum %d]%n", label, seconds, cache.hits(), cache.misses(),
+                100.0 * cache.hits() / requests.length, cache.evictions(), checksum);
+        InsertRandomSpeedTest.printStatsIfRequested(cache);
+    }
+
+    /** A stand-in for the expensive computation being cached. */
+    private static Integer compute(Integer key) {
+        int h = key;
+        for (int i = 0; i < 64; i++) {
+            h = h * 31 + i;
+        }
+        return h;
+    }
+}
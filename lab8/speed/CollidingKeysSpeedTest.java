@@ -0,0 +1,72 @@
+package speed;
+
+import edu.princeton.cs.algs4.Stopwatch;
+
+import java.io.IOException;
+import java.util.Scanner;
+
+import hashmap.Map61B;
+import hashmap.MyHashMapAdaptiveBuckets;
+import hashmap.MyHashMapALBuckets;
+import hashmap.MyHashMapLLBuckets;
+import hashmap.MyHashMapTSBuckets;
+
+/**
+ * Times maps on the worst input a String-keyed hash table can get: 2^B
+ * distinct keys that all have the same hashCode, so every key lands in one
+ * bucket. List buckets degrade to a linear scan per operation; tree-backed
+ * and adaptive buckets stay logarithmic.
+ */
+public class CollidingKeysSpeedTest {
+    /**
+     * Requests B from the user and times each bucket type. ARGS is unused.
+     */
+    public static void main(String[] args) throws IOException {
+        Scanner input = new Scanner(System.in);
+
+        System.out.println("\n This program puts and then gets 2^B Strings"
+                + " that all share one hashCode.\n");
+
+        String repeat = "y";
+        do {
+            System.out.print("\nEnter B (keys = 2^B, e.g. 14): ");
+            int B = BucketsSpeedTest.waitForPositiveInt(input);
+            String[] keys = collidingKeys(Math.min(B, 24));
+
+            timeCollidingKeys(new MyHashMapALBuckets<>(), keys);
+            timeCollidingKeys(new MyHashMapLLBuckets<>(), keys);
+            timeCollidingKeys(new MyHashMapTSBuckets<>(), keys);
+            timeCollidingKeys(new MyHashMapAdaptiveBuckets<>(), keys);
+
+            System.out.print("\nWould you like to try more timed-tests? (y/n): ");
+            repeat = input.nextLine();
+        } while (!repeat.equalsIgnoreCase("n") && !repeat.equalsIgnoreCase("no"));
+        input.close();
+    }
+
+    /** Returns 2^blocks Strings made of "Aa" and "BB" blocks, which all hash alike. */
+    private static String[] collidingKeys(int blocks) {
+        String[] keys = new String[1 << blocks];
+        for (int i = 0; i < keys.length; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int b = 0; b < blocks; b++) {
+                sb.append(((i >> b) & 1) == 0 ? "Aa" : "BB");
+            }
+            keys[i] = sb.toString();
+        }
+        return keys;
+    }
+
+    /** Puts then gets every key and prints the time taken. */
+    private static void timeCollidingKeys(Map61B<String, Integer> map, String[] keys) {
+        Stopwatch sw = new Stopwatch();
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], i);
+        }
+        for (String key : keys) {
+            map.get(key);
+        }
+        System.out.printf(map.getClass() + ": %.2f sec\n", sw.elapsedTime());
+        InsertRandomSpeedTest.printStatsIfRequested(map);
+    }
+}
@@ -0,0 +1,139 @@
+package speed;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import hashmap.ConcurrentMyHashMap;
+import hashmap.Map61B;
+import hashmap.MyHashMap;
+
+/**
+ * A multi-threaded BucketsSpeedTest. T threads share one map, with
+ * T = 1, 2, 4, ... up to the number of cores. Each thread does N operations
+ * on random keys drawn from a fixed pool of Strings of length L: a put in
+ * one case out of five and a get otherwise. Prints the throughput of
+ * MyHashMap behind one global lock and of ConcurrentMyHashMap. The point
+ * is how each one scales as threads are added.
+ */
+public class ConcurrentBucketsSpeedTest {
+    /** Keys in the shared pool. */
+    private static final int POOL = 1 << 16;
+    /** Out of 100 operations, how many are puts. */
+    private static final int PUT_PERCENT = 20;
+
+    /**
+     * Requests L and N from the user and runs every thread count.
+     * ARGS is unused.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Scanner input = new Scanner(System.in);
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        System.out.println("\n This program has 1 to " + cores + " threads share a map"
+                + "\n of <String, Integer> pairs, with keys of length L.\n");
+        System.out.print("What would you like L to be?: ");
+        int L = BucketsSpeedTest.waitForPositiveInt(input);
+
+        String repeat = "y";
+        do {
+            System.out.print("\nEnter # operations per thread: ");
+            int N = BucketsSpeedTest.waitForPositiveInt(input);
+            String[] pool = new String[POOL];
+            for (int i = 0; i < POOL; i++) {
+                pool[i] = StringUtils.randomString(L);
+            }
+
+            System.out.printf("%-8s %22s %22s%n", "threads", "global lock (Mops/s)",
+                    "ConcurrentMyHashMap");
+            for (int threads = 1; threads <= cores; threads *= 2) {
+                double locked = opsPerSecond(new LockedMap<>(new MyHashMap<>()), pool, threads, N);
+                double striped = opsPerSecond(new ConcurrentMyHashMap<>(), pool, threads, N);
+                System.out.printf("%-8d %22.2f %22.2f%n", threads, locked / 1e6, striped / 1e6);
+            }
+
+            System.out.print("\nWould you like to try more timed-tests? (y/n): ");
+            repeat = input.nextLine();
+        } while (!repeat.equalsIgnoreCase("n") && !repeat.equalsIgnoreCase("no"));
+        input.close();
+    }
+
+    /** Fills map from pool, then returns the total operations per second of threads threads. */
+    private static double opsPerSecond(Map61B<String, Integer> map, String[] pool,
+                                       int threads, int n) throws InterruptedException {
+        for (int i = 0; i < pool.length; i++) {
+            map.put(pool[i], i);
+        }
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < n; i++) {
+                    int k = random.nextInt(pool.length);
+                    if (random.nextInt(100) < PUT_PERCENT) {
+                        map.put(pool[k], i);
+                    } else {
+                        map.get(pool[k]);
+                    }
+                }
+            }));
+        }
+        long start = System.nanoTime();
+        for (Thread w : workers) {
+            w.start();
+        }
+        for (Thread w : workers) {
+            w.join();
+        }
+        return (double) threads * n / ((System.nanoTime() - start) / 1e9);
+    }
+
+    /** A Map61B that allows one caller at a time, the way a shared MyHashMap is used today. */
+    private static class LockedMap<K, V> implements Map61B<K, V> {
+        private final Map61B<K, V> map;
+
+        LockedMap(Map61B<K, V> map) {
+            this.map = map;
+        }
+
+        public synchronized void clear() {
+            map.clear();
+        }
+
+        public synchronized boolean containsKey(K key) {
+            return map.containsKey(key);
+        }
+
+        public synchronized V get(K key) {
+            return map.get(key);
+        }
+
+        public synchronized int size() {
+            return map.size();
+        }
+
+        public synchronized void put(K key, V value) {
+            map.put(key, value);
+        }
+
+        public synchronized Set<K> keySet() {
+            return map.keySet();
+        }
+
+        public synchronized V remove(K key) {
+            return map.remove(key);
+        }
+
+        public synchronized V remove(K key, V value) {
+            return map.remove(key, value);
+        }
+
+        public synchronized Iterator<K> iterator() {
+            return keySet().iterator();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package speed;
+
+import edu.princeton.cs.algs4.Stopwatch;
+
+import java.io.IOException;
+import java.util.Scanner;
+
+import hashmap.MyHashMap;
+
+/**
+ * Shows what MyHashMap's bit mixer does to the chain lengths of in-order
+ * String keys. Each key set goes into a MyHashMap that masks the raw
+ * hashCode and into the stock MyHashMap, which mixes it first; for each,
+ * the time to put and then get every key is printed with the map's stats.
+ *
+ * Two key sets are used. Keys from StringUtils.nextString have consecutive
+ * hashCodes, so even raw masking fills the table like a counter. Zero-padded
+ * decimal ids ("00000000", "00000001", ...) only use 10 of the 31 steps
+ * between hashCodes per digit, so raw masking leaves many buckets empty and
+ * overloads the rest; mixing flattens them to the shape random keys give.
+ */
+public class InOrderChainsSpeedTest {
+    /**
+     * Requests N from the user and runs both key sets. If ARGS holds N,
+     * runs once with it instead of prompting.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 1) {
+            timeAllKeySets(Integer.parseInt(args[0]));
+            return;
+        }
+        Scanner input = new Scanner(System.in);
+
+        System.out.println("\n This program puts and then gets N in-order Strings,"
+                + " with and without hash mixing.\n");
+
+        String repeat = "y";
+        do {
+            System.out.print("\nEnter N (e.g. 1000000): ");
+            timeAllKeySets(BucketsSpeedTest.waitForPositiveInt(input));
+
+            System.out.print("\nWould you like to try more timed-tests? (y/n): ");
+            repeat = input.nextLine();
+        } while (!repeat.equalsIgnoreCase("n") && !repeat.equalsIgnoreCase("no"));
+        input.close();
+    }
+
+    private static void timeAllKeySets(int N) {
+        String[] nextStrings = new String[N];
+        String s = "cat";
+        for (int i = 0; i < N; i++) {
+            s = StringUtils.nextString(s);
+            nextStrings[i] = s;
+        }
+        String[] decimalIds = new String[N];
+        for (int i = 0; i < N; i++) {
+            decimalIds[i] = String.format("%08d", i);
+        }
+
+        System.out.println("\nStringUtils.nextString keys:");
+        timeChains(new RawHashMyHashMap<>(), nextStrings, "raw hashCode");
+        timeChains(new MyHashMap<>(), nextStrings, "mixed");
+        System.out.println("\nZero-padded decimal keys:");
+        timeChains(new RawHashMyHashMap<>(), decimalIds, "raw hashCode");
+        timeChains(new MyHashMap<>(), decimalIds, "mixed");
+    }
+
+    /** Puts then gets every key, and prints the time taken and the map's stats. */
+    private static void timeChains(MyHashMap<String, Integer> map, String[] keys, String label) {
+        Stopwatch sw = new Stopwatch();
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], i);
+        }
+        for (String key : keys) {
+            map.get(key);
+        }
+        System.out.printf("%s: %.2f sec%n", label, sw.elapsedTime());
+        System.out.print(map.stats());
+    }
+
+    /** A MyHashMap that picks buckets from the low bits of the raw hashCode. */
+    private static class RawHashMyHashMap<K, V> extends MyHashMap<K, V> {
+        @Override
+        protected int spread(int h) {
+            return h;
+        }
+    }
+}
@@ -5,9 +5,11 @@ import java.io.IOException;
 import java.util.Scanner;
 import edu.princeton.cs.algs4.Stopwatch;
 
+import hashmap.CompactMyHashMap;
 import hashmap.Map61B;
 import hashmap.ULLMap;
 import hashmap.MyHashMap;
+import hashmap.OpenAddressingHashMap;
 
 /**
  * Performs a timing test on three different set implementations.
@@ -40,6 +42,14 @@ public class InsertInOrderSpeedTest {
             timeInOrderMap61B(new MyHashMap<String, Integer>(),
                     i.waitForPositiveInt(input));
 
+            System.out.print("\nEnter # strings to insert into hashmap.OpenAddressingHashMap: ");
+            timeInOrderMap61B(new OpenAddressingHashMap<String, Integer>(),
+                    i.waitForPositiveInt(input));
+
+            System.out.print("\nEnter # strings to insert into hashmap.CompactMyHashMap: ");
+            timeInOrderMap61B(new CompactMyHashMap<String, Integer>(),
+                    i.waitForPositiveInt(input));
+
             System.out.print("\nEnter # strings to insert into Java's HashMap: ");
             timeInOrderHashMap(new HashMap<String, Integer>(),
                     i.waitForPositiveInt(input));
@@ -86,6 +96,7 @@ public class InsertInOrderSpeedTest {
         try {
             double mapTime = insertInOrder(map, N);
             System.out.printf(map.getClass() + ": %.2f sec\n", mapTime);
+            InsertRandomSpeedTest.printStatsIfRequested(map);
         } catch (StackOverflowError e) {
             printInfoOnStackOverflow(N);
         } catch (RuntimeException e) {
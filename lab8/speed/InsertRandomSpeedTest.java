@@ -5,9 +5,11 @@ import java.io.IOException;
 import java.util.Scanner;
 import edu.princeton.cs.algs4.Stopwatch;
 
+import hashmap.CompactMyHashMap;
 import hashmap.Map61B;
 import hashmap.ULLMap;
 import hashmap.MyHashMap;
+import hashmap.OpenAddressingHashMap;
 
 /** Performs a timing test on three different set implementations.
  *  @author Josh Hug
@@ -39,6 +41,14 @@ public class InsertRandomSpeedTest {
             timeRandomMap61B(new MyHashMap<String, Integer>(),
                     waitForPositiveInt(input), L);
 
+            System.out.print("\nEnter # strings to insert into hashmap.OpenAddressingHashMap: ");
+            timeRandomMap61B(new OpenAddressingHashMap<String, Integer>(),
+                    waitForPositiveInt(input), L);
+
+            System.out.print("\nEnter # strings to insert into hashmap.CompactMyHashMap: ");
+            timeRandomMap61B(new CompactMyHashMap<String, Integer>(),
+                    waitForPositiveInt(input), L);
+
             System.out.print("\nEnter # strings to insert into Java's HashMap: ");
             timeRandomHashMap(new HashMap<String, Integer>(),
                     waitForPositiveInt(input), L);
@@ -86,6 +96,7 @@ public class InsertRandomSpeedTest {
         try {
             double mapTime = insertRandom(map, N, L);
             System.out.printf(map.getClass() + ": %.2f sec\n", mapTime);
+            printStatsIfRequested(map);
         } catch (StackOverflowError e) {
             printInfoOnStackOverflow(N, L);
         } catch (RuntimeException e) {
@@ -126,6 +137,18 @@ public class InsertRandomSpeedTest {
         } while (ret <= 0);
         return ret;
     }
+
+    /**
+     * Prints the instrumentation of map if the JVM was started with
+     * -Dhashmap.stats=true and map is a MyHashMap (or one of its bucket
+     * subclasses).
+     */
+    public static void printStatsIfRequested(Map61B<?, ?> map) {
+        if (Boolean.getBoolean("hashmap.stats") && map instanceof MyHashMap) {
+            System.out.print(((MyHashMap<?, ?>) map).stats());
+        }
+    }
+
     /* ------------------------------- Private methods ------------------------------- */
     /**
      * To be called after catching a StackOverflowError
@@ -0,0 +1,94 @@
+package speed;
+
+import edu.princeton.cs.algs4.Stopwatch;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Scanner;
+import java.util.stream.Stream;
+
+import hashmap.MappedHashMap;
+import hashmap.MyHashMap;
+
+/**
+ * Compares starting up with a table that has to be rebuilt, a MyHashMap
+ * filled from scratch, against reopening a MappedHashMap built earlier.
+ * Then times gets on the reopened map, once as the pages fault in and once
+ * from the page cache.
+ */
+public class MappedSpeedTest {
+    /**
+     * Requests N from the user. If ARGS holds N, runs once with it instead
+     * of prompting.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 1) {
+            timeMapped(Integer.parseInt(args[0]));
+            return;
+        }
+        Scanner input = new Scanner(System.in);
+
+        System.out.println("\n This program builds a map of N <String, Long> pairs,"
+                + " in memory and on disk, and reopens the one on disk.\n");
+
+        String repeat = "y";
+        do {
+            System.out.print("\nEnter N (e.g. 1000000): ");
+            timeMapped(BucketsSpeedTest.waitForPositiveInt(input));
+
+            System.out.print("\nWould you like to try more timed-tests? (y/n): ");
+            repeat = input.nextLine();
+        } while (!repeat.equalsIgnoreCase("n") && !repeat.equalsIgnoreCase("no"));
+        input.close();
+    }
+
+    private static void timeMapped(int N) throws IOException {
+        String[] keys = new String[N];
+        for (int i = 0; i < N; i++) {
+            keys[i] = "key" + i;
+        }
+        Path dir = Files.createTempDirectory("mappedspeedtest");
+        try {
+            Stopwatch sw = new Stopwatch();
+            MyHashMap<String, Long> inHeap = new MyHashMap<>();
+            for (int i = 0; i < N; i++) {
+                inHeap.put(keys[i], (long) i);
+            }
+            System.out.printf("build MyHashMap: %.2f sec%n", sw.elapsedTime());
+
+            sw = new Stopwatch();
+            try (MappedHashMap<String, Long> m = open(dir)) {
+                for (int i = 0; i < N; i++) {
+                    m.put(keys[i], (long) i);
+                }
+            }
+            System.out.printf("build MappedHashMap and close: %.2f sec%n", sw.elapsedTime());
+
+            sw = new Stopwatch();
+            try (MappedHashMap<String, Long> m = open(dir)) {
+                System.out.printf("reopen MappedHashMap: %.3f sec%n", sw.elapsedTime());
+                timeGets(m, keys, "gets, first pass");
+                timeGets(m, keys, "gets, second pass");
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    private static MappedHashMap<String, Long> open(Path dir) throws IOException {
+        return new MappedHashMap<>(dir, MappedHashMap.STRINGS, MappedHashMap.LONGS);
+    }
+
+    private static void timeGets(MappedHashMap<String, Long> m, String[] keys, String label) {
+        Stopwatch sw = new Stopwatch();
+        long sum = 0;
+        for (String key : keys) {
+            sum += m.get(key);
+        }
+        System.out.printf("%s: %.2f sec [%d]%n", label, sw.elapsedTime(), sum);
+    }
+}
@@ -0,0 +1,126 @@
+package speed;
+
+import edu.princeton.cs.algs4.Stopwatch;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.Scanner;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+
+import hashmap.IntMyHashMap;
+import hashmap.LongMyHashMap;
+import hashmap.MyHashMap;
+import hashmap.OpenAddressingHashMap;
+
+/**
+ * Puts N random int (then long) keys into the generic maps, which box every
+ * key, and into IntMyHashMap / LongMyHashMap, which do not. Then it gets
+ * every key back. Prints the put time, the get time, and roughly how much
+ * heap each map holds once built. Every map gets the same keys, and all
+ * values are one shared Integer, so the differences come from how the keys
+ * are stored.
+ */
+public class PrimitiveKeysSpeedTest {
+    private static final Integer VALUE = 61;
+
+    /**
+     * Requests N from the user and times every map. ARGS is unused.
+     */
+    public static void main(String[] args) throws IOException {
+        Scanner input = new Scanner(System.in);
+
+        System.out.println("\n This program inserts random int and long keys"
+                + "\n into boxed and primitive-key maps.\n");
+
+        String repeat = "y";
+        do {
+            System.out.print("\nEnter # keys to insert into each map: ");
+            int n = InsertRandomSpeedTest.waitForPositiveInt(input);
+            Random random = new Random(61);
+            int[] ints = new int[n];
+            long[] longs = new long[n];
+            for (int i = 0; i < n; i++) {
+                ints[i] = random.nextInt();
+                longs[i] = random.nextLong();
+            }
+
+            MyHashMap<Integer, Integer> myInts = new MyHashMap<>();
+            timeInts("MyHashMap<Integer, Integer>", ints, k -> myInts.put(k, VALUE), myInts::get);
+            OpenAddressingHashMap<Integer, Integer> openInts = new OpenAddressingHashMap<>();
+            timeInts("OpenAddressingHashMap<Integer, Integer>", ints,
+                    k -> openInts.put(k, VALUE), openInts::get);
+            HashMap<Integer, Integer> javaInts = new HashMap<>();
+            timeInts("java.util.HashMap<Integer, Integer>", ints,
+                    k -> javaInts.put(k, VALUE), javaInts::get);
+            IntMyHashMap<Integer> intMap = new IntMyHashMap<>();
+            timeInts("IntMyHashMap<Integer>", ints, k -> intMap.put(k, VALUE), intMap::get);
+
+            MyHashMap<Long, Integer> myLongs = new MyHashMap<>();
+            timeLongs("MyHashMap<Long, Integer>", longs, k -> myLongs.put(k, VALUE), myLongs::get);
+            HashMap<Long, Integer> javaLongs = new HashMap<>();
+            timeLongs("java.util.HashMap<Long, Integer>", longs,
+                    k -> javaLongs.put(k, VALUE), javaLongs::get);
+            LongMyHashMap<Integer> longMap = new LongMyHashMap<>();
+            timeLongs("LongMyHashMap<Integer>", longs, k -> longMap.put(k, VALUE), longMap::get);
+
+            System.out.print("\nWould you like to try more timed-tests? (y/n): ");
+            repeat = input.nextLine();
+        } while (!repeat.equalsIgnoreCase("n") && !repeat.equalsIgnoreCase("no"));
+        input.close();
+    }
+
+    /** Puts then gets every key through put and get, and prints the results. */
+    private static void timeInts(String label, int[] keys, IntConsumer put, IntFunction<Integer> get) {
+        long before = usedHeap();
+        Stopwatch sw = new Stopwatch();
+        for (int key : keys) {
+            put.accept(key);
+        }
+        double putTime = sw.elapsedTime();
+        sw = new Stopwatch();
+        int found = 0;
+        for (int key : keys) {
+            if (get.apply(key) != null) {
+                found++;
+            }
+        }
+        double getTime = sw.elapsedTime();
+        print(label, putTime, getTime, found, usedHeap() - before);
+    }
+
+    /** Puts then gets every key through put and get, and prints the results. */
+    private static void timeLongs(String label, long[] keys, LongConsumer put,
+                                  LongFunction<Integer> get) {
+        long before = usedHeap();
+        Stopwatch sw = new Stopwatch();
+        for (long key : keys) {
+            put.accept(key);
+        }
+        double putTime = sw.elapsedTime();
+        sw = new Stopwatch();
+        int found = 0;
+        for (long key : keys) {
+            if (get.apply(key) != null) {
+                found++;
+            }
+        }
+        double getTime = sw.elapsedTime();
+        print(label, putTime, getTime, found, usedHeap() - before);
+    }
+
+    private static void print(String label, double putTime, double getTime, int found, long bytes) {
+        System.out.printf("%-40s put %.2f sec, get %.2f sec (%d found), ~%d MB%n",
+                label, putTime, getTime, found, bytes >> 20);
+    }
+
+    /** Returns the heap in use after a full collection, in bytes. Approximate. */
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        System.gc();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,58 @@
+package speed;
+
+import java.io.IOException;
+import java.util.Scanner;
+
+import hashmap.MyHashMap;
+
+/**
+ * Compares MyHashMap's two resize modes on N random String keys: the total
+ * insert time, and the slowest single put(), which in ALL_AT_ONCE mode is the
+ * put that rehashes the whole table.
+ */
+public class ResizeLatencySpeedTest {
+    /** Length of the random keys. */
+    private static final int L = 10;
+
+    /**
+     * Requests N from the user and times both modes. ARGS is unused.
+     */
+    public static void main(String[] args) throws IOException {
+        Scanner input = new Scanner(System.in);
+
+        System.out.println("\n This program inserts random Strings of length " + L
+                + "\n into MyHashMaps that resize all at once or incrementally.\n");
+
+        String repeat = "y";
+        do {
+            System.out.print("\nEnter # strings to insert: ");
+            int n = InsertRandomSpeedTest.waitForPositiveInt(input);
+
+            // Same keys for both modes
+            String[] keys = new String[n];
+            for (int i = 0; i < n; i++) {
+                keys[i] = StringUtils.randomString(L);
+            }
+            for (MyHashMap.ResizeMode mode : MyHashMap.ResizeMode.values()) {
+                timePuts(new MyHashMap<>(16, 0.75, mode), keys, mode.toString());
+            }
+
+            System.out.print("\nWould you like to try more timed-tests? (y/n): ");
+            repeat = input.nextLine();
+        } while (!repeat.equalsIgnoreCase("n") && !repeat.equalsIgnoreCase("no"));
+        input.close();
+    }
+
+    /** Puts every key into map, timing each call, and prints the total and the worst. */
+    private static void timePuts(MyHashMap<String, Integer> map, String[] keys, String label) {
+        long worst = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < keys.length; i++) {
+            long t0 = System.nanoTime();
+            map.put(keys[i], i);
+            worst = Math.max(worst, System.nanoTime() - t0);
+        }
+        double total = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-12s total %.2f sec, slowest put %.3f ms%n", label, total, worst / 1e6);
+    }
+}
@@ -0,0 +1,49 @@
+package hashmapbench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Runs every bucket benchmark with the gc profiler, which adds
+ * gc.alloc.rate and gc.alloc.rate.norm (bytes per op) next to each score.
+ * The results go to hashmapbench.csv (or .json), and FootprintReport's
+ * table of retained heap goes to footprint.csv (or .json).
+ *
+ * Usage: BenchmarkRunner [regex] [csv|json]. The regex narrows the run to
+ * matching benchmarks, e.g. "BucketBenchmark.getMiss"; the default runs all.
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws RunnerException, IOException {
+        String include = args.length > 0 ? args[0] : "hashmapbench\\..*";
+        String format = args.length > 1 ? args[1] : "csv";
+        ResultFormatType type;
+        if (format.equals("csv")) {
+            type = ResultFormatType.CSV;
+        } else if (format.equals("json")) {
+            type = ResultFormatType.JSON;
+        } else {
+            throw new IllegalArgumentException("format must be csv or json: " + format);
+        }
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(type)
+                .result("hashmapbench." + format)
+                .build();
+        new Runner(options).run();
+
+        String footprint = FootprintReport.render(FootprintReport.measureAll(), format);
+        Files.write(Paths.get("footprint." + format), footprint.getBytes(StandardCharsets.UTF_8));
+        System.out.println("Wrote hashmapbench." + format + " and footprint." + format);
+    }
+}
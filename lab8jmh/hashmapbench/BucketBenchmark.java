@@ -0,0 +1,138 @@
+package hashmapbench;
+
+import hashmap.Map61B;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single operations on a map that already holds size keys, for each bucket
+ * strategy. Every benchmark leaves the map holding the same keys it started
+ * with, so the size stays fixed across invocations. Keys are drawn from a
+ * present set and a disjoint absent set, and each call cycles through them
+ * in a fixed random order.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BucketBenchmark {
+    /** Length of the cycles of keys each benchmark walks through; a power of two. */
+    private static final int CYCLE = 4096;
+
+    @Param({"1024", "131072"})
+    public int size;
+
+    @Param({"8", "32", "mixed"})
+    public String keyLength;
+
+    @Param({"AL", "LL", "TS", "HS", "PQ", "Adaptive", "Compact"})
+    public String bucket;
+
+    private Map61B<String, Integer> map;
+    private String[] present;
+    private String[] absent;
+    /** For mixed: 0 get hit, 1 get miss, 2 put, 3 insert then remove. */
+    private byte[] mix;
+    private int next;
+
+    @Setup
+    public void setup() {
+        String[] keys = BucketMaps.keys(size + CYCLE, keyLength, 61);
+        map = BucketMaps.create(bucket);
+        for (int i = 0; i < size; i++) {
+            map.put(keys[i], i);
+        }
+        Random random = new Random(61);
+        present = new String[CYCLE];
+        absent = new String[CYCLE];
+        mix = new byte[CYCLE];
+        for (int i = 0; i < CYCLE; i++) {
+            present[i] = keys[random.nextInt(size)];
+            absent[i] = keys[size + i];
+            int r = random.nextInt(100);
+            mix[i] = (byte) (r < 70 ? 0 : r < 80 ? 1 : r < 90 ? 2 : 3);
+        }
+        next = 0;
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (CYCLE - 1);
+        return next;
+    }
+
+    /** get of a key that is in the map. */
+    @Benchmark
+    public Integer getHit() {
+        return map.get(present[nextIndex()]);
+    }
+
+    /** get of a key that is not, which has to look at the whole bucket. */
+    @Benchmark
+    public Integer getMiss() {
+        return map.get(absent[nextIndex()]);
+    }
+
+    /** put that replaces the value of a key already in the map. */
+    @Benchmark
+    public void putExisting() {
+        int i = nextIndex();
+        map.put(present[i], i);
+    }
+
+    /** put of a new key, then remove of it, so the size stays put. */
+    @Benchmark
+    public Integer insertRemove() {
+        String key = absent[nextIndex()];
+        map.put(key, 0);
+        return map.remove(key);
+    }
+
+    /** remove of a present key, then put of it back. */
+    @Benchmark
+    public void removeReinsert() {
+        int i = nextIndex();
+        String key = present[i];
+        map.put(key, map.remove(key));
+    }
+
+    /** 70% get hits, 10% get misses, 10% puts of existing keys, 10% insert+remove. */
+    @Benchmark
+    public Integer mixed() {
+        int i = nextIndex();
+        switch (mix[i]) {
+            case 0:
+                return map.get(present[i]);
+            case 1:
+                return map.get(absent[i]);
+            case 2:
+                map.put(present[i], i);
+                return null;
+            default:
+                map.put(absent[i], i);
+                return map.remove(absent[i]);
+        }
+    }
+
+    /** One full pass over the keys; the score is passes per second. */
+    @Benchmark
+    public void iterate(Blackhole bh) {
+        for (String key : map) {
+            bh.consume(key);
+        }
+    }
+}
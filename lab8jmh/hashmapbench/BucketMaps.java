@@ -0,0 +1,74 @@
+package hashmapbench;
+
+import hashmap.CompactMyHashMap;
+import hashmap.Map61B;
+import hashmap.MyHashMapALBuckets;
+import hashmap.MyHashMapAdaptiveBuckets;
+import hashmap.MyHashMapHSBuckets;
+import hashmap.MyHashMapLLBuckets;
+import hashmap.MyHashMapPQBuckets;
+import hashmap.MyHashMapTSBuckets;
+
+import java.util.HashSet;
+import java.util.Random;
+
+/**
+ * The bucket strategies under test, and the keys they are tested with.
+ * "Compact" is CompactMyHashMap, whose chains are index arrays rather
+ * than bucket objects.
+ */
+final class BucketMaps {
+    /** Every value of the benchmarks' bucket parameter. */
+    static final String[] BUCKETS = {"AL", "LL", "TS", "HS", "PQ", "Adaptive", "Compact"};
+
+    private BucketMaps() {
+    }
+
+    /** Returns an empty map whose buckets are of the named kind. */
+    static Map61B<String, Integer> create(String bucket) {
+        switch (bucket) {
+            case "AL":
+                return new MyHashMapALBuckets<>();
+            case "LL":
+                return new MyHashMapLLBuckets<>();
+            case "TS":
+                return new MyHashMapTSBuckets<>();
+            case "HS":
+                return new MyHashMapHSBuckets<>();
+            case "PQ":
+                return new MyHashMapPQBuckets<>();
+            case "Adaptive":
+                return new MyHashMapAdaptiveBuckets<>();
+            case "Compact":
+                return new CompactMyHashMap<>();
+            default:
+                throw new IllegalArgumentException("unknown bucket type: " + bucket);
+        }
+    }
+
+    /**
+     * Returns count distinct random lowercase Strings. keyLength is a fixed
+     * length such as "8", or "mixed" for lengths spread evenly over 4..64,
+     * which is closer to real identifiers and URLs than one fixed length.
+     * Keys made from the same seed are the same from run to run.
+     */
+    static String[] keys(int count, String keyLength, long seed) {
+        Random random = new Random(seed);
+        HashSet<String> seen = new HashSet<>();
+        String[] keys = new String[count];
+        int n = 0;
+        while (n < count) {
+            int length = keyLength.equals("mixed")
+                    ? 4 + random.nextInt(61) : Integer.parseInt(keyLength);
+            char[] chars = new char[length];
+            for (int i = 0; i < length; i++) {
+                chars[i] = (char) ('a' + random.nextInt(26));
+            }
+            String key = new String(chars);
+            if (seen.add(key)) {
+                keys[n++] = key;
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,54 @@
+package hashmapbench;
+
+import hashmap.Map61B;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds a map of size keys from empty, resizes included. This is what
+ * BucketsSpeedTest timed, here with warmup and repeated measurements.
+ * The gc profiler's bytes/op is the garbage produced by one whole build.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BuildBenchmark {
+    @Param({"1024", "131072"})
+    public int size;
+
+    @Param({"8", "32", "mixed"})
+    public String keyLength;
+
+    @Param({"AL", "LL", "TS", "HS", "PQ", "Adaptive", "Compact"})
+    public String bucket;
+
+    private String[] keys;
+
+    @Setup
+    public void setup() {
+        keys = BucketMaps.keys(size, keyLength, 61);
+    }
+
+    @Benchmark
+    public Map61B<String, Integer> build() {
+        Map61B<String, Integer> map = BucketMaps.create(bucket);
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], i);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,121 @@
+package hashmapbench;
+
+import hashmap.Map61B;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Measures how much heap each bucket strategy keeps alive, which JMH does
+ * not report. For each bucket type, size and key length, it builds the map
+ * from keys and values that already exist, and compares the heap in use
+ * after a full collection before and after the build. The difference is the
+ * table, buckets and nodes, without the key Strings or values themselves.
+ *
+ * The numbers come from Runtime, so they are estimates. They are stable to
+ * within a few percent at the sizes used here.
+ *
+ * Usage: FootprintReport [csv|json] [output file]; prints to stdout if no
+ * file is given.
+ */
+public class FootprintReport {
+    static final int[] SIZES = {1024, 131072};
+    static final String[] KEY_LENGTHS = {"8", "32", "mixed"};
+
+    public static void main(String[] args) throws IOException {
+        String format = args.length > 0 ? args[0] : "csv";
+        String report = render(measureAll(), format);
+        if (args.length > 1) {
+            Files.write(Paths.get(args[1]), report.getBytes(StandardCharsets.UTF_8));
+        } else {
+            System.out.print(report);
+        }
+    }
+
+    /** One measurement. */
+    static final class Row {
+        final String bucket;
+        final int size;
+        final String keyLength;
+        final long bytes;
+
+        Row(String bucket, int size, String keyLength, long bytes) {
+            this.bucket = bucket;
+            this.size = size;
+            this.keyLength = keyLength;
+            this.bytes = bytes;
+        }
+    }
+
+    static List<Row> measureAll() {
+        List<Row> rows = new ArrayList<>();
+        for (String bucket : BucketMaps.BUCKETS) {
+            for (int size : SIZES) {
+                for (String keyLength : KEY_LENGTHS) {
+                    rows.add(new Row(bucket, size, keyLength, measure(bucket, size, keyLength)));
+                }
+            }
+        }
+        return rows;
+    }
+
+    /** Returns the bytes retained by a map of size keys, not counting the keys. */
+    static long measure(String bucket, int size, String keyLength) {
+        String[] keys = BucketMaps.keys(size, keyLength, 61);
+        Integer[] values = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+        }
+        long before = usedHeap();
+        Map61B<String, Integer> map = BucketMaps.create(bucket);
+        for (int i = 0; i < size; i++) {
+            map.put(keys[i], values[i]);
+        }
+        long after = usedHeap();
+        if (map.size() != size) {
+            throw new IllegalStateException(bucket + " lost keys");
+        }
+        return Math.max(0, after - before);
+    }
+
+    /** Returns the heap in use after the collector has settled. */
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            used = Math.min(used, rt.totalMemory() - rt.freeMemory());
+        }
+        return used;
+    }
+
+    static String render(List<Row> rows, String format) {
+        StringBuilder sb = new StringBuilder();
+        if (format.equals("json")) {
+            sb.append("[\n");
+            for (int i = 0; i < rows.size(); i++) {
+                Row r = rows.get(i);
+                sb.append(String.format(Locale.ROOT,
+                        "  {\"bucket\": \"%s\", \"size\": %d, \"keyLength\": \"%s\", "
+                                + "\"bytes\": %d, \"bytesPerEntry\": %.1f}%s%n",
+                        r.bucket, r.size, r.keyLength, r.bytes, (double) r.bytes / r.size,
+                        i + 1 < rows.size() ? "," : ""));
+            }
+            sb.append("]\n");
+        } else if (format.equals("csv")) {
+            sb.append("bucket,size,keyLength,bytes,bytesPerEntry\n");
+            for (Row r : rows) {
+                sb.append(String.format(Locale.ROOT, "%s,%d,%s,%d,%.1f%n",
+                        r.bucket, r.size, r.keyLength, r.bytes, (double) r.bytes / r.size));
+            }
+        } else {
+            throw new IllegalArgumentException("format must be csv or json: " + format);
+        }
+        return sb.toString();
+    }
+}
@@ -1,51 +1,153 @@
 package deque;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
-public class ArrayDeque<T> implements Iterable<T> {
-    /* Constant values */
-    private static final int UP_RADIX = 2;
-    private static final int DOWN_RADIX = 4;
-    private static final int INITIAL_SIZE = 8;
+public class ArrayDeque<T> implements Deque<T> {
+    /* Constant values
+    * ResizePolicy only hands out powers of two, so items.length always is one */
     private static final int INITIAL_FIRST_PREV = 3;
     private static final int INITIAL_LAST_NEXT = 4;
 
 
-    /* ArrayDequeIterator class */
+    /* ArrayDequeIterator class
+    * Behave: walk the ring directly by cursor, and fail fast
+    *         if the deque is modified during iteration */
     private class ArrayDequeIterator implements Iterator<T> {
-        int wisPos;
+        private int cursor;
+        private int remaining;
+        private final int expectedModCount;
 
         public ArrayDequeIterator() {
-            wisPos = 0;
+            cursor = getNextIndex(firstPrev, items.length);
+            remaining = size;
+            expectedModCount = modCount;
         }
 
         @Override
         public boolean hasNext() {
-            return wisPos < size;
+            return remaining > 0;
         }
 
         @Override
         public T next() {
-            T val = get(wisPos);
-            wisPos += 1;
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (remaining == 0) {
+                throw new NoSuchElementException();
+            }
+            T val = items[cursor];
+            cursor = (cursor + 1) & (items.length - 1);
+            remaining -= 1;
             return val;
         }
     }
 
+    /* ArrayDequeSpliterator class
+    * Behave: cover the logical positions [lo, hi) of the deque;
+    *         trySplit hands off the front half, so both halves stay exactly sized */
+    private class ArrayDequeSpliterator implements Spliterator<T> {
+        private final T[] snapshot;
+        private final int first;
+        private int lo;
+        private final int hi;
+        private final int expectedModCount;
+
+        public ArrayDequeSpliterator(int lo, int hi) {
+            this(items, getNextIndex(firstPrev, items.length), lo, hi, modCount);
+        }
+
+        /* Behave: a split shares its parent's view of the deque, so a prefix
+        *         split off after a modification still reports it */
+        private ArrayDequeSpliterator(T[] snapshot, int first, int lo, int hi,
+                                      int expectedModCount) {
+            this.snapshot = snapshot;
+            this.first = first;
+            this.lo = lo;
+            this.hi = hi;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (lo >= hi) {
+                return false;
+            }
+            T val = snapshot[(first + lo) & (snapshot.length - 1)];
+            lo += 1;
+            action.accept(val);
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            int mask = snapshot.length - 1;
+            for (int i = lo; i < hi; i++) {
+                action.accept(snapshot[(first + i) & mask]);
+            }
+            lo = hi;
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int mid = (lo + hi) >>> 1;
+            if (mid <= lo) {
+                return null;
+            }
+            ArrayDequeSpliterator prefix =
+                    new ArrayDequeSpliterator(snapshot, first, lo, mid, expectedModCount);
+            lo = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return hi - lo;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
 
     /* ArrayDeque class's members */
     private int size;
     private int firstPrev;
     private int lastNext;
     private T[] items;
+    private int modCount;
+    private final ResizePolicy policy;
+    private final RollingHash hash = new RollingHash();
 
 
     /* Function: construct */
     public ArrayDeque() {
+        this(ResizePolicy.DEFAULT);
+    }
+
+    /* Function: construct
+    * Behave: grow and shrink as policy says, starting at its minimum capacity */
+    public ArrayDeque(ResizePolicy policy) {
+        this.policy = policy;
         size = 0;
         firstPrev = INITIAL_FIRST_PREV;
         lastNext = INITIAL_LAST_NEXT;
-        items = (T[]) new Object[INITIAL_SIZE];
+        items = (T[]) new Object[policy.minCapacity()];
     }
 
     /* Function: addFirst */
@@ -54,6 +156,8 @@ public class ArrayDeque<T> implements Iterable<T> {
         items[firstPrev] = item;
         firstPrev = getPrevIndex(firstPrev, items.length);
         size += 1;
+        modCount += 1;
+        hash.addFirst(item);
     }
 
     /* Function: addLast */
@@ -62,6 +166,8 @@ public class ArrayDeque<T> implements Iterable<T> {
         items[lastNext] = item;
         lastNext = getNextIndex(lastNext, items.length);
         size += 1;
+        modCount += 1;
+        hash.addLast(item);
     }
 
     /* Function: isEmpty */
@@ -94,6 +200,8 @@ public class ArrayDeque<T> implements Iterable<T> {
         items[first] = null;
         firstPrev = first;
         size -= 1;
+        modCount += 1;
+        hash.removeFirst(val);
         return val;
     }
 
@@ -108,6 +216,8 @@ public class ArrayDeque<T> implements Iterable<T> {
         items[last] = null;
         lastNext = last;
         size -= 1;
+        modCount += 1;
+        hash.removeLast(val);
         return val;
     }
 
@@ -116,7 +226,119 @@ public class ArrayDeque<T> implements Iterable<T> {
         if (index < 0 || index >= size) {
             return null;
         }
-        return items[(firstPrev + 1 + index) % items.length];
+        return items[(firstPrev + 1 + index) & (items.length - 1)];
+    }
+
+    /* Function: addAll
+    * Behave: grow once to fit all of src, then copy it into the ring
+    *         with at most two System.arraycopy calls */
+    public void addAll(T[] src) {
+        ensureCapacity(size + src.length);
+        int mask = items.length - 1;
+        int firstPart = Math.min(src.length, items.length - lastNext);
+        System.arraycopy(src, 0, items, lastNext, firstPart);
+        System.arraycopy(src, firstPart, items, 0, src.length - firstPart);
+        lastNext = (lastNext + src.length) & mask;
+        size += src.length;
+        modCount += 1;
+        for (T item : src) {
+            hash.addLast(item);
+        }
+    }
+
+    /* Function: addAll
+    * Behave: if src knows its size, grow once up front; then addLast each item */
+    public void addAll(Iterable<? extends T> src) {
+        if (src == this) {
+            addAll((T[]) toArray());
+            return;
+        }
+        if (src instanceof Collection) {
+            ensureCapacity(size + ((Collection<? extends T>) src).size());
+        } else if (src instanceof Deque) {
+            ensureCapacity(size + ((Deque<? extends T>) src).size());
+        }
+        for (T item : src) {
+            addLast(item);
+        }
+    }
+
+    /* Function: toArray
+    * Behave: copy the two contiguous segments of the ring, front to back */
+    public Object[] toArray() {
+        Object[] dest = new Object[size];
+        copyFront(dest, size);
+        return dest;
+    }
+
+    /* Function: drainTo
+    * Behave: move every item into dest, front to back, and leave this deque empty;
+    *         return the number of items moved. Like drainTo(dest, size), so if
+    *         dest.add throws, the items it already took are still removed */
+    public int drainTo(Collection<? super T> dest) {
+        return drainTo(dest, size);
+    }
+
+    /* Function: drainTo
+    * Behave: move up to dest.length items from the front into dest;
+    *         return the number of items moved */
+    public int drainTo(T[] dest) {
+        int n = Math.min(size, dest.length);
+        copyFront(dest, n);
+        if (n == size) {
+            clear();
+        } else {
+            dropFront(n);
+        }
+        return n;
+    }
+
+    /* Function: drainTo
+    * Behave: move up to max items from the front into dest;
+    *         return the number of items moved, 0 if max <= 0.
+    *         If dest.add throws, the items it already took are still
+    *         removed, and the rest stay in this deque */
+    public int drainTo(Collection<? super T> dest, int max) {
+        if (max <= 0) {
+            return 0;
+        }
+        int n = Math.min(size, max);
+        int p = getNextIndex(firstPrev, items.length);
+        int moved = 0;
+        try {
+            while (moved < n) {
+                dest.add(items[p]);
+                moved += 1;
+                p = getNextIndex(p, items.length);
+            }
+        } finally {
+            if (moved == size) {
+                clear();
+            } else if (moved > 0) {
+                dropFront(moved);
+            }
+        }
+        return n;
+    }
+
+    /* Function: ensureCapacity
+    * Behave: resize at most once so that capacity items fit without another
+    *         resize; pair with ResizePolicy.neverShrink to keep the room */
+    public void ensureCapacity(int capacity) {
+        if (capacity > items.length) {
+            resize(ResizePolicy.roundUp(capacity));
+            modCount += 1;
+        }
+    }
+
+    /* Function: trimToSize
+    * Behave: shrink the ring to the smallest legal capacity that holds size items */
+    public void trimToSize() {
+        int capacity = Math.max(ResizePolicy.roundUp(size), policy.minCapacity());
+        if (capacity < items.length) {
+            resize(capacity);
+            modCount += 1;
+        }
     }
 
     /* Function: iterator */
@@ -125,38 +347,131 @@ public class ArrayDeque<T> implements Iterable<T> {
         return new ArrayDequeIterator();
     }
 
+    /* Function: spliterator
+    * Behave: feed parallel streams, e.g. StreamSupport.stream(d.spliterator(), true) */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new ArrayDequeSpliterator(0, size);
+    }
+
     /* Function: equals
-    * Behave: use iterator */
+    * Behave: equal to any Deque with equal items in the same order.
+    *         Sizes reject in O(1); the cached hashes are not trusted here,
+    *         since an item mutated after it was added leaves them stale.
+    *         Another ArrayDeque is compared segment by segment on the
+    *         backing arrays, anything else through its iterator */
     @Override
     public boolean equals(Object o) {
         if (o == this) {
             return true;
         }
-        if (!(o instanceof ArrayDeque)) {
+        if (!(o instanceof Deque)) {
             return false;
         }
-        ArrayDeque<T> other = (ArrayDeque<T>) o;
+        Deque<?> other = (Deque<?>) o;
         if (this.size() != other.size()) {
             return false;
         }
-        Iterator<T> p = other.iterator();
+        if (other instanceof ArrayDeque) {
+            return segmentsEqual((ArrayDeque<?>) other);
+        }
+        Iterator<?> p = other.iterator();
         for (T val1 : this) {
-            T val2 = p.next();
-            if (!val1.equals(val2)) {
+            if (!Objects.equals(val1, p.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /* Function: hashCode
+    * Behave: java.util.List's formula, computed in full on the first call
+    *         and kept up to date on every add and remove after that;
+    *         assumes items are not mutated in ways that change their hashCode */
+    @Override
+    public int hashCode() {
+        return hash.value(this);
+    }
+
+    /* Helper Function: segmentsEqual
+    * Behave: both rings split into at most two contiguous runs, so at most
+    *         three Arrays.equals calls cover every item */
+    private boolean segmentsEqual(ArrayDeque<?> other) {
+        int p = getNextIndex(firstPrev, items.length);
+        int q = other.getNextIndex(other.firstPrev, other.items.length);
+        int remaining = size;
+        while (remaining > 0) {
+            int run = Math.min(remaining, Math.min(items.length - p, other.items.length - q));
+            if (!Arrays.equals(items, p, p + run, other.items, q, q + run)) {
                 return false;
             }
+            p = (p + run) & (items.length - 1);
+            q = (q + run) & (other.items.length - 1);
+            remaining -= run;
         }
         return true;
     }
 
-    /* Helper Function: getPrevIndex */
+    /* Helper Function: getPrevIndex
+    * Behave: length is always a power of two, so wrap with a mask instead of % */
     private int getPrevIndex(int index, int length) {
-        return (index + length - 1) % length;
+        return (index - 1) & (length - 1);
     }
 
-    /* Helper Function: getNextIndex */
+    /* Helper Function: getNextIndex
+    * Behave: length is always a power of two, so wrap with a mask instead of % */
     private int getNextIndex(int index, int length) {
-        return (index + 1) % length;
+        return (index + 1) & (length - 1);
+    }
+
+    /* Helper Function: copyFront
+    * Behave: copy the first n items into dest[0..n) */
+    private void copyFront(Object[] dest, int n) {
+        int first = getNextIndex(firstPrev, items.length);
+        int firstPart = Math.min(n, items.length - first);
+        System.arraycopy(items, first, dest, 0, firstPart);
+        System.arraycopy(items, 0, dest, firstPart, n - firstPart);
+    }
+
+    /* Helper Function: clear
+    * Behave: if the policy shrinks at all, drop the backing array and start
+    *         over at the policy's minimum; else keep the array */
+    private void clear() {
+        if (!policy.shrinks() || items.length <= policy.minCapacity()) {
+            dropFront(size);
+            return;
+        }
+        size = 0;
+        modCount += 1;
+        hash.reset();
+        firstPrev = INITIAL_FIRST_PREV;
+        lastNext = INITIAL_LAST_NEXT;
+        items = (T[]) new Object[policy.minCapacity()];
+    }
+
+    /* Helper Function: dropFront
+    * Behave: null out the first n slots, with at most two fills, and skip past them */
+    private void dropFront(int n) {
+        int first = getNextIndex(firstPrev, items.length);
+        if (n == size) {
+            hash.reset();
+        } else {
+            for (int i = 0; i < n; i++) {
+                hash.removeFirst(items[(first + i) & (items.length - 1)]);
+            }
+        }
+        int firstPart = Math.min(n, items.length - first);
+        Arrays.fill(items, first, first + firstPart, null);
+        Arrays.fill(items, 0, n - firstPart, null);
+        firstPrev = (firstPrev + n) & (items.length - 1);
+        size -= n;
+        modCount += 1;
+    }
+
+    /* Helper Function: capacity
+    * Behave: package-private, so tests can observe the policy at work */
+    int capacity() {
+        return items.length;
     }
 
     /* Helper Function: resize */
@@ -178,14 +493,14 @@ public class ArrayDeque<T> implements Iterable<T> {
     /* Helper Function: bigger */
     private void bigger() {
         if (size == items.length) {
-            resize(UP_RADIX * size);
+            resize(policy.grow(items.length));
         }
     }
 
     /* Helper Function: smaller */
     private void smaller() {
-        if (size < items.length / 4 && size > INITIAL_SIZE) {
-            int capacity = Math.max(items.length / DOWN_RADIX, INITIAL_SIZE);
+        int capacity = policy.shrink(size, items.length);
+        if (capacity != items.length) {
             resize(capacity);
         }
     }
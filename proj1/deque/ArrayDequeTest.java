@@ -4,6 +4,19 @@ import org.checkerframework.checker.units.qual.A;
 import org.junit.Test;
 
 import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import static org.junit.Assert.*;
 
@@ -158,4 +171,346 @@ public class ArrayDequeTest {
         lst4.addLast("2");
         assertFalse("Should not have the same value", lst3.equals(lst4));
     }
+
+    @Test
+    /* Test addAll, toArray and drainTo against one-at-a-time operations. */
+    public void bulkTest() {
+        ArrayDeque<Integer> lst = new ArrayDeque<>();
+        Integer[] src = new Integer[1000];
+        for (int i = 0; i < src.length; i++) {
+            src[i] = i;
+        }
+        lst.addFirst(-1);
+        lst.addAll(src);
+        lst.addAll(List.of(1000, 1001));
+        assertEquals(1003, lst.size());
+
+        Object[] arr = lst.toArray();
+        assertEquals(1003, arr.length);
+        for (int i = 0; i < arr.length; i++) {
+            assertEquals("Should have the same value", i - 1, arr[i]);
+            assertEquals("Should have the same value", lst.get(i), arr[i]);
+        }
+
+        Integer[] dest = new Integer[3];
+        assertEquals(3, lst.drainTo(dest));
+        assertArrayEquals(new Integer[]{-1, 0, 1}, dest);
+        assertEquals(1000, lst.size());
+        assertEquals(2, (int) lst.get(0));
+
+        List<Integer> out = new ArrayList<>();
+        assertEquals(1000, lst.drainTo(out));
+        assertTrue("lst should be empty after drainTo", lst.isEmpty());
+        for (int i = 0; i < out.size(); i++) {
+            assertEquals("Should have the same value", i + 2, (int) out.get(i));
+        }
+
+        lst.addLast(7);
+        lst.addAll(lst);
+        assertEquals(2, lst.size());
+        assertEquals(7, (int) lst.removeLast());
+        assertEquals(7, (int) lst.removeFirst());
+    }
+
+    @Test
+    /* Iterating while the deque is modified should fail fast. */
+    public void failFastIteratorTest() {
+        ArrayDeque<Integer> lst = new ArrayDeque<>();
+        for (int i = 0; i < 10; i++) {
+            lst.addLast(i);
+        }
+        Iterator<Integer> it = lst.iterator();
+        it.next();
+        lst.addFirst(-1);
+        try {
+            it.next();
+            fail("next() should throw after the deque is modified");
+        } catch (ConcurrentModificationException e) {
+            // expected
+        }
+
+        it = lst.iterator();
+        while (it.hasNext()) {
+            it.next();
+        }
+        try {
+            it.next();
+            fail("next() should throw when there is no next item");
+        } catch (NoSuchElementException e) {
+            // expected
+        }
+    }
+
+    @Test
+    /* Test spliterator function through a parallel stream. */
+    public void spliteratorTest() {
+        ArrayDeque<Integer> lst = new ArrayDeque<>();
+        for (int i = 0; i < 10000; i++) {
+            lst.addFirst(9999 - i);
+        }
+        Spliterator<Integer> split = lst.spliterator();
+        assertTrue(split.hasCharacteristics(Spliterator.SIZED));
+        assertTrue(split.hasCharacteristics(Spliterator.SUBSIZED));
+        assertEquals(10000, split.estimateSize());
+        Spliterator<Integer> prefix = split.trySplit();
+        assertEquals(10000, prefix.estimateSize() + split.estimateSize());
+
+        long sum = StreamSupport.stream(lst.spliterator(), true)
+                .mapToLong(Integer::longValue).sum();
+        assertEquals(9999L * 10000 / 2, sum);
+        List<Integer> ordered = StreamSupport.stream(lst.spliterator(), true)
+                .collect(Collectors.toList());
+        for (int i = 0; i < 10000; i++) {
+            assertEquals("Should have the same value", i, (int) ordered.get(i));
+        }
+    }
+
+    @Test
+    /* A prefix split off after the deque changed should still fail fast
+     * and read the items the parent saw. */
+    public void spliteratorSplitAfterModificationTest() {
+        ArrayDeque<Integer> lst = new ArrayDeque<>();
+        for (int i = 0; i < 8; i++) {
+            lst.addLast(i);
+        }
+        Spliterator<Integer> split = lst.spliterator();
+        lst.addFirst(-1);
+        Spliterator<Integer> prefix = split.trySplit();
+        try {
+            prefix.tryAdvance(x -> assertEquals(0, (int) x));
+            fail("Should throw ConcurrentModificationException");
+        } catch (ConcurrentModificationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    /* Test ensureCapacity, trimToSize and pluggable resize policies. */
+    public void resizePolicyTest() {
+        ArrayDeque<Integer> lst = new ArrayDeque<>(ResizePolicy.neverShrink(4, 100));
+        assertEquals(128, lst.capacity());
+        for (int i = 0; i < 129; i++) {
+            lst.addLast(i);
+        }
+        assertEquals("Should grow by the policy's factor", 512, lst.capacity());
+        for (int i = 0; i < 129; i++) {
+            assertEquals("Should have the same value", i, (int) lst.removeFirst());
+        }
+        assertEquals("A never-shrink policy should keep its room", 512, lst.capacity());
+        lst.trimToSize();
+        assertEquals("trimToSize should not go below the minimum capacity", 128, lst.capacity());
+
+        ArrayDeque<Integer> lst2 = new ArrayDeque<>();
+        lst2.ensureCapacity(1000);
+        assertEquals(1024, lst2.capacity());
+        for (int i = 0; i < 1000; i++) {
+            lst2.addFirst(i);
+        }
+        assertEquals("ensureCapacity should make room up front", 1024, lst2.capacity());
+        for (int i = 0; i < 990; i++) {
+            lst2.removeLast();
+        }
+        lst2.trimToSize();
+        assertEquals(16, lst2.capacity());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("Should have the same value", 999 - i, (int) lst2.get(i));
+        }
+
+        // 收缩到一半而不是四分之一，留出余量
+        ArrayDeque<Integer> lst3 = new ArrayDeque<>(new ResizePolicy(2, 4, 2, 8));
+        for (int i = 0; i < 64; i++) {
+            lst3.addLast(i);
+        }
+        for (int i = 0; i < 50; i++) {
+            lst3.removeLast();
+        }
+        assertEquals(32, lst3.capacity());
+        for (int i = 0; i < 10; i++) {
+            lst3.addLast(-1);
+        }
+        assertEquals("Should not grow right after shrinking", 32, lst3.capacity());
+
+        // the default policy, like ArrayDeque always has, keeps its room at 8 items or fewer
+        ArrayDeque<Integer> lst4 = new ArrayDeque<>();
+        for (int i = 0; i < 64; i++) {
+            lst4.addLast(i);
+        }
+        for (int i = 0; i < 56; i++) {
+            lst4.removeLast();
+        }
+        assertEquals(16, lst4.capacity());
+        for (int i = 0; i < 8; i++) {
+            lst4.removeLast();
+        }
+        assertEquals("Should not shrink at 8 items or fewer", 16, lst4.capacity());
+    }
+
+    @Test
+    /* Invalid policies should be rejected. */
+    public void badResizePolicyTest() {
+        try {
+            new ResizePolicy(3, 4, 4, 8);
+            fail("growthFactor 3 is not a power of two");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new ResizePolicy(2, 2, 4, 8);
+            fail("shrinkWhenBelow < shrinkFactor would overflow the ring");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    /* hashCode should match List's across every kind of add and remove,
+     * and equals should hold across deque implementations. */
+    public void hashCodeTest() {
+        ArrayDeque<Integer> lst = new ArrayDeque<>();
+        LinkedListDeque<Integer> other = new LinkedListDeque<>();
+        LinkedList<Integer> expected = new LinkedList<>();
+        assertEquals(expected.hashCode(), lst.hashCode());
+        Random random = new Random(12);
+        for (int i = 0; i < 5000; i++) {
+            int op = random.nextInt(6);
+            Integer x = random.nextInt(50) == 0 ? null : random.nextInt();
+            if (op == 0) {
+                lst.addFirst(x);
+                expected.addFirst(x);
+            } else if (op == 1) {
+                lst.addLast(x);
+                expected.addLast(x);
+            } else if (op == 2 && !expected.isEmpty()) {
+                assertEquals(expected.removeFirst(), lst.removeFirst());
+            } else if (op == 3 && !expected.isEmpty()) {
+                assertEquals(expected.removeLast(), lst.removeLast());
+            } else if (op == 4) {
+                Integer[] batch = {x, -i, 7};
+                lst.addAll(batch);
+                expected.addAll(Arrays.asList(batch));
+            } else if (op == 5 && random.nextInt(20) == 0) {
+                Integer[] dest = new Integer[random.nextInt(8)];
+                int n = lst.drainTo(dest);
+                for (int k = 0; k < n; k++) {
+                    assertEquals(expected.removeFirst(), dest[k]);
+                }
+            }
+            assertEquals("hashCode should match List's", expected.hashCode(), lst.hashCode());
+        }
+
+        for (Integer x : lst) {
+            other.addLast(x);
+        }
+        assertEquals("Deques with the same items should be equal across implementations", lst, other);
+        assertEquals(other, lst);
+        assertEquals(lst.hashCode(), other.hashCode());
+        other.addFirst(other.removeLast());
+        if (!Objects.equals(lst.get(0), other.get(0))) {
+            assertNotEquals(lst, other);
+        }
+    }
+
+    @Test
+    /* equals should compare items as they are now, even after an item was
+     * mutated in place and left the cached hash stale. */
+    public void equalsMutatedItemTest() {
+        ArrayDeque<List<Integer>> lst = new ArrayDeque<>();
+        LinkedListDeque<List<Integer>> other = new LinkedListDeque<>();
+        List<Integer> item = new ArrayList<>();
+        lst.addLast(item);
+        item.add(1);
+        other.addLast(Collections.singletonList(1));
+        assertEquals(lst, other);
+        assertEquals(other, lst);
+    }
+
+    @Test
+    /* drainTo(dest, max) should remove exactly the items dest accepted
+     * when dest.add throws partway, and move nothing for max <= 0. */
+    public void drainToFailingCollectionTest() {
+        ArrayDeque<Integer> lst = new ArrayDeque<>();
+        for (int i = 0; i < 10; i++) {
+            lst.addLast(i);
+        }
+        assertEquals(0, lst.drainTo(new ArrayList<>(), -1));
+        assertEquals(10, lst.size());
+
+        List<Integer> dest = new ArrayList<Integer>() {
+            @Override
+            public boolean add(Integer x) {
+                if (size() == 3) {
+                    throw new IllegalStateException("full");
+                }
+                return super.add(x);
+            }
+        };
+        try {
+            lst.drainTo(dest, 5);
+            fail("Should pass on the exception from dest.add");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertEquals(Arrays.asList(0, 1, 2), dest);
+        assertEquals(7, lst.size());
+        for (int i = 3; i < 10; i++) {
+            assertEquals("Should have the same value", i, (int) lst.removeFirst());
+        }
+    }
+
+    @Test
+    /* An item mutated while in the deque should leave no trace in hashCode
+     * once the deque is empty again, however it was emptied. */
+    public void hashCodeAfterMutatedItemTest() {
+        int empty = new ArrayDeque<Integer>().hashCode();
+        for (int way = 0; way < 3; way++) {
+            ArrayDeque<List<Integer>> lst = new ArrayDeque<>();
+            List<Integer> item = new ArrayList<>();
+            lst.addLast(item);
+            lst.addLast(new ArrayList<>());
+            lst.hashCode();
+            item.add(1);
+            if (way == 0) {
+                lst.removeLast();
+                lst.removeFirst();
+            } else if (way == 1) {
+                lst.drainTo(new ArrayList<>());
+            } else {
+                lst.drainTo((List<Integer>[]) new List[2]);
+            }
+            assertEquals("An empty deque should hash like a new one", empty, lst.hashCode());
+            assertEquals(new ArrayDeque<Integer>(), lst);
+        }
+    }
+
+    @Test
+    /* drainTo(dest) should remove exactly the items dest accepted when
+     * dest.add throws partway, and keep hashing like its contents. */
+    public void drainAllToFailingCollectionTest() {
+        ArrayDeque<Integer> lst = new ArrayDeque<>();
+        for (int i = 0; i < 10; i++) {
+            lst.addLast(i);
+        }
+        lst.hashCode();
+        List<Integer> dest = new ArrayList<Integer>() {
+            @Override
+            public boolean add(Integer x) {
+                if (size() == 4) {
+                    throw new IllegalStateException("full");
+                }
+                return super.add(x);
+            }
+        };
+        try {
+            lst.drainTo(dest);
+            fail("Should pass on the exception from dest.add");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertEquals(Arrays.asList(0, 1, 2, 3), dest);
+        assertEquals(6, lst.size());
+        assertEquals(Arrays.asList(4, 5, 6, 7, 8, 9).hashCode(), lst.hashCode());
+        for (int i = 4; i < 10; i++) {
+            assertEquals("Should have the same value", i, (int) lst.removeFirst());
+        }
+    }
 }
@@ -0,0 +1,193 @@
+package deque;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/* A bounded FIFO queue for handing items from producer threads to consumer
+ * threads, built on ArrayDeque's ring.
+ * The ring is sized for capacity once, with a never-shrink policy, so
+ * put/take never resize. One lock guards the ring. Producers wait on notFull
+ * and consumers wait on notEmpty.
+ * drainTo moves a whole batch under a single lock acquisition, so a consumer
+ * that handles items in batches pays for the lock once per batch instead of
+ * once per item.
+ * Null items are rejected, since poll uses null to mean "nothing arrived". */
+public class BoundedBlockingQueue<T> {
+    /* BoundedBlockingQueue class's members */
+    private final ArrayDeque<T> items;
+    private final int capacity;
+    private final ReentrantLock lock;
+    private final Condition notEmpty;
+    private final Condition notFull;
+
+
+    /* Function: construct */
+    public BoundedBlockingQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.items = new ArrayDeque<>(ResizePolicy.neverShrink(2, capacity));
+        this.lock = new ReentrantLock();
+        this.notEmpty = lock.newCondition();
+        this.notFull = lock.newCondition();
+    }
+
+    /* Function: put
+    * Behave: wait for room, then add item at the back */
+    public void put(T item) throws InterruptedException {
+        checkNotNull(item);
+        lock.lockInterruptibly();
+        try {
+            while (items.size() == capacity) {
+                notFull.await();
+            }
+            enqueue(item);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* Function: offer
+    * Behave: add item at the back if there is room right now */
+    public boolean offer(T item) {
+        checkNotNull(item);
+        lock.lock();
+        try {
+            if (items.size() == capacity) {
+                return false;
+            }
+            enqueue(item);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* Function: offer
+    * Behave: wait up to timeout for room; return false if none appeared */
+    public boolean offer(T item, long timeout, TimeUnit unit) throws InterruptedException {
+        checkNotNull(item);
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (items.size() == capacity) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            enqueue(item);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* Function: take
+    * Behave: wait for an item, then remove it from the front */
+    public T take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (items.isEmpty()) {
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* Function: poll
+    * Behave: remove the front item if there is one right now; else return null */
+    public T poll() {
+        lock.lock();
+        try {
+            return items.isEmpty() ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* Function: poll
+    * Behave: wait up to timeout for an item; return null if none arrived */
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (items.isEmpty()) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* Function: drainTo
+    * Behave: without waiting, move up to max items from the front into batch
+    *         under one lock acquisition; return the number moved */
+    public int drainTo(Collection<? super T> batch, int max) {
+        if (max <= 0) {
+            return 0;
+        }
+        lock.lock();
+        int before = items.size();
+        try {
+            return items.drainTo(batch, max);
+        } finally {
+            // batch.add may throw partway, after some items have already left
+            if (items.size() < before) {
+                notFull.signalAll();
+            }
+            lock.unlock();
+        }
+    }
+
+    /* Function: size */
+    public int size() {
+        lock.lock();
+        try {
+            return items.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* Function: isEmpty */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /* Function: remainingCapacity */
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    /* Helper Function: enqueue
+    * Behave: lock must be held */
+    private void enqueue(T item) {
+        items.addLast(item);
+        notEmpty.signal();
+    }
+
+    /* Helper Function: dequeue
+    * Behave: lock must be held, and items must not be empty */
+    private T dequeue() {
+        T item = items.removeFirst();
+        notFull.signal();
+        return item;
+    }
+
+    /* Helper Function: checkNotNull */
+    private static void checkNotNull(Object item) {
+        if (item == null) {
+            throw new NullPointerException("BoundedBlockingQueue does not accept null items");
+        }
+    }
+}
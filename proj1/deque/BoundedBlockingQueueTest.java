@@ -0,0 +1,81 @@
+package deque;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+
+public class BoundedBlockingQueueTest {
+    @Test
+    /* offer/poll without waiting should respect the bound and FIFO order. */
+    public void boundTest() throws InterruptedException {
+        BoundedBlockingQueue<Integer> bbq = new BoundedBlockingQueue<>(3);
+        assertTrue("A newly initialized BoundedBlockingQueue should be empty", bbq.isEmpty());
+        assertNull(bbq.poll());
+        assertTrue(bbq.offer(1));
+        assertTrue(bbq.offer(2));
+        assertTrue(bbq.offer(3));
+        assertFalse("A full queue should refuse offer", bbq.offer(4));
+        assertFalse("A full queue should time out", bbq.offer(4, 10, TimeUnit.MILLISECONDS));
+        assertEquals(0, bbq.remainingCapacity());
+        assertEquals(1, (int) bbq.take());
+        assertEquals(2, (int) bbq.poll(10, TimeUnit.MILLISECONDS));
+        assertEquals(3, (int) bbq.poll());
+        assertNull("An empty queue should time out", bbq.poll(10, TimeUnit.MILLISECONDS));
+        try {
+            bbq.offer(null);
+            fail("null items should be rejected");
+        } catch (NullPointerException e) {
+            // expected
+        }
+    }
+
+    @Test
+    /* drainTo should move at most max items and keep the rest in order. */
+    public void drainToTest() throws InterruptedException {
+        BoundedBlockingQueue<Integer> bbq = new BoundedBlockingQueue<>(100);
+        for (int i = 0; i < 100; i++) {
+            bbq.put(i);
+        }
+        List<Integer> batch = new ArrayList<>();
+        assertEquals(30, bbq.drainTo(batch, 30));
+        assertEquals(70, bbq.size());
+        assertEquals(70, bbq.drainTo(batch, 1000));
+        assertTrue("bbq should be empty after draining", bbq.isEmpty());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("Should have the same value", i, (int) batch.get(i));
+        }
+        assertEquals(0, bbq.drainTo(batch, 10));
+    }
+
+    @Test
+    /* A producer blocked on a full queue should get every item through to a batching consumer. */
+    public void producerConsumerTest() throws InterruptedException {
+        final int n = 100000;
+        BoundedBlockingQueue<Integer> bbq = new BoundedBlockingQueue<>(64);
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < n; i++) {
+                    bbq.put(i);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+
+        List<Integer> received = new ArrayList<>();
+        while (received.size() < n) {
+            received.add(bbq.take());
+            bbq.drainTo(received, 32);
+        }
+        producer.join();
+        for (int i = 0; i < n; i++) {
+            assertEquals("Should have the same value", i, (int) received.get(i));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package deque;
+
+/* The operations ArrayDeque, LinkedListDeque and UnrolledLinkedListDeque share.
+ * Two Deques are equal when they hold equal items in the same order,
+ * whichever implementation each one is, and then their hashCodes match too:
+ * all use java.util.List's formula. Once hashCode has been called,
+ * ArrayDeque and LinkedListDeque keep it up to date on every add and remove,
+ * which assumes items are immutable, or at least that their hashCodes do not
+ * change while they are in the deque; emptying the deque clears any error. */
+public interface Deque<T> extends Iterable<T> {
+    void addFirst(T item);
+    void addLast(T item);
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    int size();
+    void printDeque();
+    T removeFirst();
+    T removeLast();
+    T get(int index);
+}
@@ -0,0 +1,229 @@
+package deque;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/* A circular array deque specialized for primitive doubles.
+ * Mirrors ArrayDeque's ring logic, but stores items in a double[] so that
+ * no Double is ever boxed on add or unboxed on remove/get.
+ * Since a double cannot be null, removing from an empty deque or getting
+ * an index out of range returns Double.NaN instead. */
+public class DoubleArrayDeque implements Iterable<Double> {
+    /* Constant values
+    * INITIAL_SIZE and both radixes are powers of two, so items.length always is */
+    private static final int UP_RADIX = 2;
+    private static final int DOWN_RADIX = 4;
+    private static final int INITIAL_SIZE = 8;
+    private static final int INITIAL_FIRST_PREV = 3;
+    private static final int INITIAL_LAST_NEXT = 4;
+
+
+    /* DoubleArrayDequeIterator class
+    * Behave: nextDouble() never boxes; next() boxes for Iterable callers */
+    private class DoubleArrayDequeIterator implements PrimitiveIterator.OfDouble {
+        int wisPos;
+
+        public DoubleArrayDequeIterator() {
+            wisPos = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return wisPos < size;
+        }
+
+        @Override
+        public double nextDouble() {
+            if (wisPos >= size) {
+                throw new NoSuchElementException();
+            }
+            double val = get(wisPos);
+            wisPos += 1;
+            return val;
+        }
+    }
+
+
+    /* DoubleArrayDeque class's members */
+    private int size;
+    private int firstPrev;
+    private int lastNext;
+    private double[] items;
+
+
+    /* Function: construct */
+    public DoubleArrayDeque() {
+        this(INITIAL_SIZE);
+    }
+
+    /* Function: construct
+    * Behave: pre-size the ring so that up to capacity items fit without resizing;
+    *         the length is rounded up to a power of two */
+    public DoubleArrayDeque(int capacity) {
+        size = 0;
+        firstPrev = INITIAL_FIRST_PREV;
+        lastNext = INITIAL_LAST_NEXT;
+        items = new double[powerOfTwoAtLeast(capacity)];
+    }
+
+    /* Function: addFirst */
+    public void addFirst(double item) {
+        bigger();
+        items[firstPrev] = item;
+        firstPrev = getPrevIndex(firstPrev, items.length);
+        size += 1;
+    }
+
+    /* Function: addLast */
+    public void addLast(double item) {
+        bigger();
+        items[lastNext] = item;
+        lastNext = getNextIndex(lastNext, items.length);
+        size += 1;
+    }
+
+    /* Function: isEmpty */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /* Function: size */
+    public int size() {
+        return size;
+    }
+
+    /* Function: printDeque */
+    public void printDeque() {
+        for (int i = 0; i < size; i++) {
+            System.out.print(get(i) + " ");
+        }
+        System.out.println();
+    }
+
+    /* Function: removeFirst
+    * Behave: if size == 0, return NaN */
+    public double removeFirst() {
+        if (size == 0) {
+            return Double.NaN;
+        }
+        smaller();
+        int first = getNextIndex(firstPrev, items.length);
+        double val = items[first];
+        firstPrev = first;
+        size -= 1;
+        return val;
+    }
+
+    /* Function: removeLast
+    * Behave: if size == 0, return NaN */
+    public double removeLast() {
+        if (size == 0) {
+            return Double.NaN;
+        }
+        smaller();
+        int last = getPrevIndex(lastNext, items.length);
+        double val = items[last];
+        lastNext = last;
+        size -= 1;
+        return val;
+    }
+
+    /* Function: get
+    * Behave: if index is out of range, return NaN */
+    public double get(int index) {
+        if (index < 0 || index >= size) {
+            return Double.NaN;
+        }
+        return items[(firstPrev + 1 + index) & (items.length - 1)];
+    }
+
+    /* Function: iterator */
+    @Override
+    public PrimitiveIterator.OfDouble iterator() {
+        return new DoubleArrayDequeIterator();
+    }
+
+    /* Function: equals
+    * Behave: compare item by item with Double.compare, so NaN equals NaN */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof DoubleArrayDeque)) {
+            return false;
+        }
+        DoubleArrayDeque other = (DoubleArrayDeque) o;
+        if (this.size() != other.size()) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (Double.compare(this.get(i), other.get(i)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /* Function: hashCode
+    * Behave: java.util.List's formula over Double.hashCode, which like
+    *         Double.compare tells 0.0 from -0.0 and treats every NaN as one */
+    @Override
+    public int hashCode() {
+        int h = 1;
+        for (int i = 0; i < size; i++) {
+            h = 31 * h + Double.hashCode(this.get(i));
+        }
+        return h;
+    }
+
+    /* Helper Function: getPrevIndex
+    * Behave: length is always a power of two, so wrap with a mask instead of % */
+    private int getPrevIndex(int index, int length) {
+        return (index - 1) & (length - 1);
+    }
+
+    /* Helper Function: getNextIndex
+    * Behave: length is always a power of two, so wrap with a mask instead of % */
+    private int getNextIndex(int index, int length) {
+        return (index + 1) & (length - 1);
+    }
+
+    /* Helper Function: powerOfTwoAtLeast */
+    private static int powerOfTwoAtLeast(int capacity) {
+        if (capacity <= INITIAL_SIZE) {
+            return INITIAL_SIZE;
+        }
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /* Helper Function: resize */
+    private void resize(int capacity) {
+        double[] newItems = new double[capacity];
+        int p = getNextIndex(firstPrev, items.length);
+        int q = getNextIndex(INITIAL_FIRST_PREV, capacity);
+        for (int i = 0; i < size; i++) {
+            newItems[q] = items[p];
+            p = getNextIndex(p, items.length);
+            q = getNextIndex(q, capacity);
+        }
+        firstPrev = INITIAL_FIRST_PREV;
+        lastNext = q;
+        items = newItems;
+    }
+
+    /* Helper Function: bigger */
+    private void bigger() {
+        if (size == items.length) {
+            resize(UP_RADIX * size);
+        }
+    }
+
+    /* Helper Function: smaller */
+    private void smaller() {
+        if (size < items.length / 4 && size > INITIAL_SIZE) {
+            int capacity = Math.max(items.length / DOWN_RADIX, INITIAL_SIZE);
+            resize(capacity);
+        }
+    }
+}
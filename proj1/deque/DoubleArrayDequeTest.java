@@ -0,0 +1,107 @@
+package deque;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+
+public class DoubleArrayDequeTest {
+    @Test
+    /* Adds a few things to the deque, checking isEmpty() and size() are correct. */
+    public void addIsEmptySizeTest() {
+        DoubleArrayDeque dad1 = new DoubleArrayDeque();
+
+        assertTrue("A newly initialized DoubleArrayDeque should be empty", dad1.isEmpty());
+        dad1.addFirst(1.0);
+        assertEquals(1, dad1.size());
+        assertFalse("dad1 should now contain 1 item", dad1.isEmpty());
+
+        dad1.addLast(2.0);
+        assertEquals(2, dad1.size());
+
+        dad1.addLast(3.0);
+        assertEquals(3, dad1.size());
+    }
+
+    @Test
+    /* check if NaN is returned when removing from or getting out of an empty deque. */
+    public void emptyNaNReturnTest() {
+        DoubleArrayDeque dad1 = new DoubleArrayDeque();
+
+        assertTrue("Should return NaN when removeFirst is called on an empty Deque", Double.isNaN(dad1.removeFirst()));
+        assertTrue("Should return NaN when removeLast is called on an empty Deque", Double.isNaN(dad1.removeLast()));
+        assertTrue("Should return NaN when get is out of range", Double.isNaN(dad1.get(0)));
+        assertEquals(0, dad1.size());
+    }
+
+    @Test
+    /* Add large number of elements to deque; check if order is correct. */
+    public void bigDequeTest() {
+        DoubleArrayDeque dad1 = new DoubleArrayDeque();
+        for (int i = 0; i < 1000000; i++) {
+            dad1.addLast(i);
+        }
+
+        for (double i = 0; i < 500000; i++) {
+            assertEquals("Should have the same value", i, dad1.removeFirst(), 0.0);
+        }
+
+        for (double i = 999999; i > 500000; i--) {
+            assertEquals("Should have the same value", i, dad1.removeLast(), 0.0);
+        }
+    }
+
+    @Test
+    /* Test get and iterator against the same ArrayDeque operations. */
+    public void matchesArrayDequeTest() {
+        DoubleArrayDeque dad = new DoubleArrayDeque(3);
+        ArrayDeque<Double> ad = new ArrayDeque<>();
+        for (int i = 0; i < 100; i++) {
+            if (i % 3 == 0) {
+                dad.addFirst(i);
+                ad.addFirst((double) i);
+            } else {
+                dad.addLast(i);
+                ad.addLast((double) i);
+            }
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals("Should have the same value", ad.get(i), dad.get(i), 0.0);
+        }
+        int cnt = 0;
+        for (double x : dad) {
+            assertEquals("Should have the same value", ad.get(cnt), x, 0.0);
+            cnt++;
+        }
+        assertEquals(100, cnt);
+    }
+
+    @Test
+    /* Test equals function. */
+    public void equalsTest() {
+        DoubleArrayDeque dad1 = new DoubleArrayDeque();
+        DoubleArrayDeque dad2 = new DoubleArrayDeque(100);
+        for (int i = 0; i < 100; i++) {
+            dad1.addLast(i);
+            dad2.addLast(i);
+        }
+        assertEquals("Should have the same value", dad1, dad2);
+        assertEquals(dad1.hashCode(), dad2.hashCode());
+
+        java.util.List<Double> boxed = new java.util.ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            boxed.add((double) i);
+        }
+        assertEquals("hashCode should match java.util.List's", boxed.hashCode(), dad1.hashCode());
+
+        DoubleArrayDeque nan1 = new DoubleArrayDeque();
+        DoubleArrayDeque nan2 = new DoubleArrayDeque();
+        nan1.addLast(Double.NaN);
+        nan2.addLast(0.0 / 0.0);
+        assertEquals(nan1, nan2);
+        assertEquals(nan1.hashCode(), nan2.hashCode());
+
+        dad2.removeLast();
+        assertNotEquals("Should not have the same value", dad1, dad2);
+    }
+}
@@ -1,8 +1,14 @@
 package deque;
 
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
-public class LinkedListDeque<T> implements Iterable<T> {
+public class LinkedListDeque<T> implements Deque<T> {
     /* Node class */
     private class Node {
         private T item;
@@ -16,34 +22,118 @@ public class LinkedListDeque<T> implements Iterable<T> {
         }
     }
 
-    /* LinkedListDequeIterator class */
+    /* LinkedListDequeIterator class
+    * Behave: fail fast if the deque is modified during iteration */
     private class LinkedListDequeIterator implements Iterator<T> {
-        private int wisPos;
         private Node curr;
+        private final int expectedModCount;
 
         public LinkedListDequeIterator() {
-            wisPos = 0;
             curr = sentinel.next;
+            expectedModCount = modCount;
         }
 
         @Override
         public boolean hasNext() {
-            return wisPos < size;
+            return curr != sentinel;
         }
 
         @Override
         public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (curr == sentinel) {
+                throw new NoSuchElementException();
+            }
             T val = curr.item;
-            wisPos += 1;
             curr = curr.next;
             return val;
         }
     }
 
+    /* LinkedListDequeSpliterator class
+    * Behave: a list cannot be cut in the middle in O(1), so trySplit walks
+    *         past the front half and hands it off as a spliterator of its own;
+    *         both halves keep an exact size and fail fast alike */
+    private class LinkedListDequeSpliterator implements Spliterator<T> {
+        private Node curr;
+        private int remaining;
+        private final int expectedModCount;
+
+        public LinkedListDequeSpliterator() {
+            this(sentinel.next, size, modCount);
+        }
+
+        /* Behave: a split shares its parent's expected modCount */
+        private LinkedListDequeSpliterator(Node curr, int remaining, int expectedModCount) {
+            this.curr = curr;
+            this.remaining = remaining;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (remaining == 0) {
+                return false;
+            }
+            T val = curr.item;
+            curr = curr.next;
+            remaining -= 1;
+            action.accept(val);
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            for (; remaining > 0; remaining--) {
+                action.accept(curr.item);
+                curr = curr.next;
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int n = remaining / 2;
+            if (n == 0) {
+                return null;
+            }
+            LinkedListDequeSpliterator prefix =
+                    new LinkedListDequeSpliterator(curr, n, expectedModCount);
+            for (int i = 0; i < n; i++) {
+                curr = curr.next;
+            }
+            remaining -= n;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
 
     /* LinkedListDeque class's members */
     private int size;
     private Node sentinel;
+    private int modCount;
+    /* finger: the node get() last returned and its index, or null;
+     * every modification drops it, so it never holds a removed node alive */
+    private Node finger;
+    private int fingerIndex;
+    private final RollingHash hash = new RollingHash();
 
 
     /* Function: construct */
@@ -62,6 +152,8 @@ public class LinkedListDeque<T> implements Iterable<T> {
         head.prev = newNode;
         sentinel.next = newNode;
         size += 1;
+        modified();
+        hash.addFirst(item);
     }
 
     /* Function: addLast
@@ -72,6 +164,8 @@ public class LinkedListDeque<T> implements Iterable<T> {
         sentinel.prev = newNode;
         tail.next = newNode;
         size += 1;
+        modified();
+        hash.addLast(item);
     }
 
     /* Function: isEmpty */
@@ -106,6 +200,8 @@ public class LinkedListDeque<T> implements Iterable<T> {
         sentinel.next = second;
         second.prev = sentinel;
         size -= 1;
+        modified();
+        hash.removeFirst(val);
         return val;
     }
 
@@ -122,29 +218,155 @@ public class LinkedListDeque<T> implements Iterable<T> {
         sentinel.prev = lastSecond;
         lastSecond.next = sentinel;
         size -= 1;
+        modified();
+        hash.removeLast(val);
         return val;
     }
 
     /* Function: get
-    * Behave: get the ith item */
+    * Behave: get the ith item, walking from whichever of the front, the back
+    *         or the finger is closest; a scan over nearby indices is then
+    *         O(1) per call instead of O(n) */
     public T get(int index) {
         if (index < 0 || index >= size) {
             return null;
         }
-        Node curr = sentinel.next;
-        for (int i = 0; i < index; i++) {
+        int fromBack = size - 1 - index;
+        Node curr;
+        int pos;
+        if (finger != null
+                && Math.abs(index - fingerIndex) < Math.min(index, fromBack)) {
+            curr = finger;
+            pos = fingerIndex;
+        } else if (index <= fromBack) {
+            curr = sentinel.next;
+            pos = 0;
+        } else {
+            curr = sentinel.prev;
+            pos = size - 1;
+        }
+        for (; pos < index; pos++) {
             curr = curr.next;
         }
+        for (; pos > index; pos--) {
+            curr = curr.prev;
+        }
+        finger = curr;
+        fingerIndex = index;
         return curr.item;
     }
 
+    /* Helper Function: modified
+    * Behave: fail fast any open iterator and drop the finger, whose index
+    *         may have shifted and whose node may be gone */
+    private void modified() {
+        modCount += 1;
+        finger = null;
+    }
+
     /* Function: getRecursive
-     * Behave: get the ith item */
+     * Behave: get the ith item, recursing from whichever end is closer */
     public T getRecursive(int index) {
         if (index < 0 || index >= size) {
             return null;
         }
-        return getRecursive(sentinel.next, index);
+        if (index < size / 2) {
+            return getRecursive(sentinel.next, index);
+        }
+        return getRecursiveBackward(sentinel.prev, size - 1 - index);
+    }
+
+    /* Function: addAll
+    * Behave: link all of src into a chain first, then splice the chain
+    *         in front of sentinel with a single pair of pointer writes */
+    public void addAll(T[] src) {
+        if (src.length == 0) {
+            return;
+        }
+        Node tail = sentinel.prev;
+        Node chainFirst = new Node(src[0], tail, null);
+        Node chainLast = chainFirst;
+        for (int i = 1; i < src.length; i++) {
+            Node newNode = new Node(src[i], chainLast, null);
+            chainLast.next = newNode;
+            chainLast = newNode;
+        }
+        chainLast.next = sentinel;
+        tail.next = chainFirst;
+        sentinel.prev = chainLast;
+        size += src.length;
+        modified();
+        for (T item : src) {
+            hash.addLast(item);
+        }
+    }
+
+    /* Function: addAll */
+    public void addAll(Iterable<? extends T> src) {
+        if (src == this) {
+            addAll((T[]) toArray());
+            return;
+        }
+        for (T item : src) {
+            addLast(item);
+        }
+    }
+
+    /* Function: toArray */
+    public Object[] toArray() {
+        Object[] dest = new Object[size];
+        Node curr = sentinel.next;
+        for (int i = 0; i < size; i++) {
+            dest[i] = curr.item;
+            curr = curr.next;
+        }
+        return dest;
+    }
+
+    /* Function: drainTo
+    * Behave: move every item into dest, front to back, and leave this deque empty;
+    *         return the number of items moved.
+    *         If dest.add throws, the items it already took are still
+    *         removed, and the rest stay in this deque */
+    public int drainTo(Collection<? super T> dest) {
+        int n = size;
+        int moved = 0;
+        Node curr = sentinel.next;
+        try {
+            while (curr != sentinel) {
+                dest.add(curr.item);
+                moved += 1;
+                curr = curr.next;
+            }
+        } finally {
+            if (moved > 0) {
+                // curr is the first item dest did not take, or the sentinel
+                sentinel.next = curr;
+                curr.prev = sentinel;
+                size -= moved;
+                modified();
+                hash.reset();
+            }
+        }
+        return n;
+    }
+
+    /* Function: drainTo
+    * Behave: move up to dest.length items from the front into dest,
+    *         then unlink them all at once; return the number of items moved */
+    public int drainTo(T[] dest) {
+        int n = Math.min(size, dest.length);
+        Node curr = sentinel.next;
+        for (int i = 0; i < n; i++) {
+            dest[i] = curr.item;
+            hash.removeFirst(curr.item);
+            curr = curr.next;
+        }
+        sentinel.next = curr;
+        curr.prev = sentinel;
+        size -= n;
+        modified();
+        return n;
     }
 
     /* Function: iterator */
@@ -153,30 +375,48 @@ public class LinkedListDeque<T> implements Iterable<T> {
         return new LinkedListDequeIterator();
     }
 
+    /* Function: spliterator
+    * Behave: feed parallel streams, e.g. StreamSupport.stream(d.spliterator(), true) */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new LinkedListDequeSpliterator();
+    }
+
     /* Function: equals
-    * Behave: use iterator */
+    * Behave: equal to any Deque with equal items in the same order;
+    *         sizes reject in O(1), the rest are compared through iterators.
+    *         The cached hashes are not trusted here, since an item mutated
+    *         after it was added leaves them stale */
     @Override
     public boolean equals(Object o) {
         if (o == this) {
             return true;
         }
-        if (!(o instanceof LinkedListDeque)) {
+        if (!(o instanceof Deque)) {
             return false;
         }
-        LinkedListDeque<T> other = (LinkedListDeque<T>) o;
+        Deque<?> other = (Deque<?>) o;
         if (this.size() != other.size()) {
             return false;
         }
-        Iterator<T> p = other.iterator();
+        Iterator<?> p = other.iterator();
         for (T val1 : this) {
-            T val2 = p.next();
-            if (!val1.equals(val2)) {
+            if (!Objects.equals(val1, p.next())) {
                 return false;
             }
         }
         return true;
     }
 
+    /* Function: hashCode
+    * Behave: java.util.List's formula, computed in full on the first call
+    *         and kept up to date on every add and remove after that;
+    *         assumes items are not mutated in ways that change their hashCode */
+    @Override
+    public int hashCode() {
+        return hash.value(this);
+    }
+
     /* Helper Function: getRecursive */
     private T getRecursive(Node curr, int index) {
         if (index == 0) {
@@ -184,4 +424,13 @@ public class LinkedListDeque<T> implements Iterable<T> {
         }
         return getRecursive(curr.next, index - 1);
     }
+
+    /* Helper Function: getRecursiveBackward
+    * Behave: get the item fromBack places before curr */
+    private T getRecursiveBackward(Node curr, int fromBack) {
+        if (fromBack == 0) {
+            return curr.item;
+        }
+        return getRecursiveBackward(curr.prev, fromBack - 1);
+    }
 }
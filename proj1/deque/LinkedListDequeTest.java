@@ -1,6 +1,20 @@
 package deque;
 
 import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
 import static org.junit.Assert.*;
 
 
@@ -161,4 +175,243 @@ public class LinkedListDequeTest {
         lst4.addLast("2");
         assertFalse("Should not have the same value", lst3.equals(lst4));
     }
+
+    @Test
+    /* Test addAll, toArray and drainTo against one-at-a-time operations. */
+    public void bulkTest() {
+        LinkedListDeque<Integer> lst = new LinkedListDeque<>();
+        Integer[] src = new Integer[1000];
+        for (int i = 0; i < src.length; i++) {
+            src[i] = i;
+        }
+        lst.addFirst(-1);
+        lst.addAll(src);
+        lst.addAll(List.of(1000, 1001));
+        assertEquals(1003, lst.size());
+
+        Object[] arr = lst.toArray();
+        assertEquals(1003, arr.length);
+        for (int i = 0; i < arr.length; i++) {
+            assertEquals("Should have the same value", i - 1, arr[i]);
+            assertEquals("Should have the same value", lst.get(i), arr[i]);
+        }
+
+        Integer[] dest = new Integer[3];
+        assertEquals(3, lst.drainTo(dest));
+        assertArrayEquals(new Integer[]{-1, 0, 1}, dest);
+        assertEquals(1000, lst.size());
+        assertEquals(2, (int) lst.get(0));
+
+        List<Integer> out = new ArrayList<>();
+        assertEquals(1000, lst.drainTo(out));
+        assertTrue("lst should be empty after drainTo", lst.isEmpty());
+        for (int i = 0; i < out.size(); i++) {
+            assertEquals("Should have the same value", i + 2, (int) out.get(i));
+        }
+
+        lst.addLast(7);
+        lst.addAll(lst);
+        assertEquals(2, lst.size());
+        assertEquals(7, (int) lst.removeLast());
+        assertEquals(7, (int) lst.removeFirst());
+    }
+
+    @Test
+    /* Iterating while the deque is modified should fail fast. */
+    public void failFastIteratorTest() {
+        LinkedListDeque<Integer> lst = new LinkedListDeque<>();
+        for (int i = 0; i < 10; i++) {
+            lst.addLast(i);
+        }
+        Iterator<Integer> it = lst.iterator();
+        it.next();
+        lst.addFirst(-1);
+        try {
+            it.next();
+            fail("next() should throw after the deque is modified");
+        } catch (ConcurrentModificationException e) {
+            // expected
+        }
+
+        it = lst.iterator();
+        while (it.hasNext()) {
+            it.next();
+        }
+        try {
+            it.next();
+            fail("next() should throw when there is no next item");
+        } catch (NoSuchElementException e) {
+            // expected
+        }
+    }
+
+    @Test
+    /* Test spliterator function through a parallel stream. */
+    public void spliteratorTest() {
+        LinkedListDeque<Integer> lst = new LinkedListDeque<>();
+        for (int i = 0; i < 10000; i++) {
+            lst.addFirst(9999 - i);
+        }
+        Spliterator<Integer> split = lst.spliterator();
+        assertTrue(split.hasCharacteristics(Spliterator.SIZED));
+        assertTrue(split.hasCharacteristics(Spliterator.SUBSIZED));
+        assertEquals(10000, split.estimateSize());
+        Spliterator<Integer> prefix = split.trySplit();
+        assertEquals(10000, prefix.estimateSize() + split.estimateSize());
+
+        long sum = StreamSupport.stream(lst.spliterator(), true)
+                .mapToLong(Integer::longValue).sum();
+        assertEquals(9999L * 10000 / 2, sum);
+        List<Integer> ordered = StreamSupport.stream(lst.spliterator(), true)
+                .collect(Collectors.toList());
+        for (int i = 0; i < 10000; i++) {
+            assertEquals("Should have the same value", i, (int) ordered.get(i));
+        }
+    }
+
+    @Test
+    /* get and getRecursive should stay correct across scans, jumps and modifications. */
+    public void indexedAccessTest() {
+        LinkedListDeque<Integer> lst = new LinkedListDeque<>();
+        for (int i = 0; i < 1000; i++) {
+            lst.addLast(i);
+        }
+        for (int i = 999; i >= 0; i--) {
+            assertEquals("Should have the same value", i, (int) lst.get(i));
+        }
+        Random random = new Random(8);
+        for (int k = 0; k < 2000; k++) {
+            if (k % 7 == 0) {
+                lst.addFirst(lst.removeLast());
+            }
+            int index = random.nextInt(lst.size());
+            assertEquals("Should have the same value", lst.getRecursive(index), lst.get(index));
+            assertEquals("get should match toArray", lst.get(index), lst.toArray()[index]);
+        }
+        assertNull(lst.get(1000));
+        assertNull(lst.getRecursive(-1));
+    }
+
+    @Test
+    /* hashCode should match List's across every kind of add and remove,
+     * and equals should hold across deque implementations. */
+    public void hashCodeTest() {
+        LinkedListDeque<Integer> lst = new LinkedListDeque<>();
+        ArrayDeque<Integer> other = new ArrayDeque<>();
+        LinkedList<Integer> expected = new LinkedList<>();
+        assertEquals(expected.hashCode(), lst.hashCode());
+        Random random = new Random(12);
+        for (int i = 0; i < 5000; i++) {
+            int op = random.nextInt(6);
+            Integer x = random.nextInt(50) == 0 ? null : random.nextInt();
+            if (op == 0) {
+                lst.addFirst(x);
+                expected.addFirst(x);
+            } else if (op == 1) {
+                lst.addLast(x);
+                expected.addLast(x);
+            } else if (op == 2 && !expected.isEmpty()) {
+                assertEquals(expected.removeFirst(), lst.removeFirst());
+            } else if (op == 3 && !expected.isEmpty()) {
+                assertEquals(expected.removeLast(), lst.removeLast());
+            } else if (op == 4) {
+                Integer[] batch = {x, -i, 7};
+                lst.addAll(batch);
+                expected.addAll(Arrays.asList(batch));
+            } else if (op == 5 && random.nextInt(20) == 0) {
+                Integer[] dest = new Integer[random.nextInt(8)];
+                int n = lst.drainTo(dest);
+                for (int k = 0; k < n; k++) {
+                    assertEquals(expected.removeFirst(), dest[k]);
+                }
+            }
+            assertEquals("hashCode should match List's", expected.hashCode(), lst.hashCode());
+        }
+
+        for (Integer x : lst) {
+            other.addLast(x);
+        }
+        assertEquals("Deques with the same items should be equal across implementations", lst, other);
+        assertEquals(other, lst);
+        assertEquals(lst.hashCode(), other.hashCode());
+        other.addFirst(other.removeLast());
+        if (!Objects.equals(lst.get(0), other.get(0))) {
+            assertNotEquals(lst, other);
+        }
+    }
+
+    @Test
+    /* An item mutated while in the deque should leave no trace in hashCode
+     * once the deque is empty again, however it was emptied. */
+    public void hashCodeAfterMutatedItemTest() {
+        int empty = new LinkedListDeque<Integer>().hashCode();
+        for (int way = 0; way < 3; way++) {
+            LinkedListDeque<List<Integer>> lst = new LinkedListDeque<>();
+            List<Integer> item = new ArrayList<>();
+            lst.addLast(item);
+            lst.addLast(new ArrayList<>());
+            lst.hashCode();
+            item.add(1);
+            if (way == 0) {
+                lst.removeLast();
+                lst.removeFirst();
+            } else if (way == 1) {
+                lst.drainTo(new ArrayList<>());
+            } else {
+                lst.drainTo((List<Integer>[]) new List[2]);
+            }
+            assertEquals("An empty deque should hash like a new one", empty, lst.hashCode());
+            assertEquals(new LinkedListDeque<Integer>(), lst);
+        }
+    }
+
+    @Test
+    /* drainTo(dest) should remove exactly the items dest accepted when
+     * dest.add throws partway, and keep hashing like its contents. */
+    public void drainAllToFailingCollectionTest() {
+        LinkedListDeque<Integer> lst = new LinkedListDeque<>();
+        for (int i = 0; i < 10; i++) {
+            lst.addLast(i);
+        }
+        lst.hashCode();
+        List<Integer> dest = new ArrayList<Integer>() {
+            @Override
+            public boolean add(Integer x) {
+                if (size() == 4) {
+                    throw new IllegalStateException("full");
+                }
+                return super.add(x);
+            }
+        };
+        try {
+            lst.drainTo(dest);
+            fail("Should pass on the exception from dest.add");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertEquals(Arrays.asList(0, 1, 2, 3), dest);
+        assertEquals(6, lst.size());
+        assertEquals(Arrays.asList(4, 5, 6, 7, 8, 9).hashCode(), lst.hashCode());
+        for (int i = 4; i < 10; i++) {
+            assertEquals("Should have the same value", i, (int) lst.removeFirst());
+        }
+    }
+
+    @Test
+    /* The front half handed off by trySplit should fail fast too. */
+    public void spliteratorSplitAfterModificationTest() {
+        LinkedListDeque<Integer> lst = new LinkedListDeque<>();
+        for (int i = 0; i < 8; i++) {
+            lst.addLast(i);
+        }
+        Spliterator<Integer> prefix = lst.spliterator().trySplit();
+        assertEquals(4, prefix.estimateSize());
+        lst.addLast(8);
+        try {
+            prefix.forEachRemaining(x -> { });
+            fail("Should throw ConcurrentModificationException");
+        } catch (ConcurrentModificationException e) {
+            // expected
+        }
+    }
 }
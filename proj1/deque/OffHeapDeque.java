@@ -0,0 +1,300 @@
+package deque;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/* A ring-buffer deque of fixed-size records kept outside the Java heap.
+ * Each record is recordSize raw bytes, so a frame of doubles or a tuple of
+ * longs costs exactly its own width: there is no object header and no boxing,
+ * and the GC never scans the data.
+ * The ring uses the same logic as ArrayDeque: a power-of-two capacity and
+ * masked head/tail positions. The capacity is fixed up front, and adding to
+ * a full deque throws IllegalStateException.
+ * Records live in direct ByteBuffer segments of at most 1 GiB each, so the
+ * capacity is not bounded by int indexing. Direct buffers are still capped
+ * by -XX:MaxDirectMemorySize, which defaults to the -Xmx heap limit.
+ * open() maps the segments from a file instead, which is not under that cap.
+ * The head and size are written to a header in the same file on every
+ * change, so reopening the file after close() or force() restores the deque.
+ * A crash in between may not: the head and size are two separate writes,
+ * and the OS may write dirty pages back in any order. */
+public class OffHeapDeque implements Closeable {
+    /* Constant values */
+    private static final int MAGIC = 0x61BDE9E0;
+    private static final int HEADER_BYTES = 64;
+    private static final int MAGIC_POS = 0;
+    private static final int RECORD_SIZE_POS = 4;
+    private static final int CAPACITY_POS = 8;
+    private static final int FIRST_POS = 16;
+    private static final int SIZE_POS = 24;
+    private static final long MAX_SEGMENT_BYTES = 1L << 30;
+
+
+    /* OffHeapDeque class's members
+    * first is the ring position of the first record; the record at logical
+    * index i lives at ring position (first + i) & mask */
+    private final int recordSize;
+    private final long capacity;
+    private final long mask;
+    private final int segmentShift;
+    private final long segmentMask;
+    private final ByteBuffer header;
+    private final ByteBuffer[] segments;
+    private final FileChannel channel;
+    private long first;
+    private long size;
+
+
+    /* Function: construct
+    * Behave: an in-memory deque on direct buffers; capacity is rounded up
+    *         to a power of two records */
+    public OffHeapDeque(int recordSize, long capacity) {
+        this(recordSize, capacity, null);
+    }
+
+    /* Function: open
+    * Behave: map file as the deque's storage. If file already holds a deque
+    *         with the same recordSize, pick up where it left off; otherwise
+    *         start empty. capacity is only used for a new file */
+    public static OffHeapDeque open(Path file, int recordSize, long capacity) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() >= HEADER_BYTES) {
+                ByteBuffer existing = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+                if (existing.getInt(MAGIC_POS) == MAGIC) {
+                    if (existing.getInt(RECORD_SIZE_POS) != recordSize) {
+                        throw new IllegalArgumentException(file + " holds records of "
+                                + existing.getInt(RECORD_SIZE_POS) + " bytes, not " + recordSize);
+                    }
+                    capacity = existing.getLong(CAPACITY_POS);
+                }
+            }
+            return new OffHeapDeque(recordSize, capacity, channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /* Helper Function: construct */
+    private OffHeapDeque(int recordSize, long capacity, FileChannel channel) {
+        if (recordSize <= 0 || recordSize > MAX_SEGMENT_BYTES) {
+            throw new IllegalArgumentException("bad recordSize: " + recordSize);
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.recordSize = recordSize;
+        this.capacity = capacity == 1 ? 1 : Long.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        long perSegment = Math.min(this.capacity, Long.highestOneBit(MAX_SEGMENT_BYTES / recordSize));
+        this.segmentShift = Long.numberOfTrailingZeros(perSegment);
+        this.segmentMask = perSegment - 1;
+        this.channel = channel;
+        this.segments = new ByteBuffer[(int) (this.capacity / perSegment)];
+        int segmentBytes = (int) (perSegment * recordSize);
+        try {
+            if (channel == null) {
+                header = ByteBuffer.allocateDirect(HEADER_BYTES);
+                for (int i = 0; i < segments.length; i++) {
+                    segments[i] = ByteBuffer.allocateDirect(segmentBytes);
+                }
+            } else {
+                header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+                for (int i = 0; i < segments.length; i++) {
+                    segments[i] = channel.map(FileChannel.MapMode.READ_WRITE,
+                            HEADER_BYTES + (long) i * segmentBytes, segmentBytes);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("could not map deque storage", e);
+        }
+        if (header.getInt(MAGIC_POS) == MAGIC) {
+            first = header.getLong(FIRST_POS);
+            size = header.getLong(SIZE_POS);
+        } else {
+            header.putInt(RECORD_SIZE_POS, recordSize);
+            header.putLong(CAPACITY_POS, this.capacity);
+            writeHeader();
+            header.putInt(MAGIC_POS, MAGIC);
+        }
+    }
+
+    /* Function: addFirst
+    * Behave: copy recordSize bytes of record in front of the first record */
+    public void addFirst(byte[] record) {
+        checkRoom(record);
+        first = (first - 1) & mask;
+        write(first, record);
+        size += 1;
+        writeHeader();
+    }
+
+    /* Function: addLast
+    * Behave: copy recordSize bytes of record behind the last record */
+    public void addLast(byte[] record) {
+        checkRoom(record);
+        write((first + size) & mask, record);
+        size += 1;
+        writeHeader();
+    }
+
+    /* Function: isEmpty */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /* Function: size */
+    public long size() {
+        return size;
+    }
+
+    /* Function: capacity */
+    public long capacity() {
+        return capacity;
+    }
+
+    /* Function: recordSize */
+    public int recordSize() {
+        return recordSize;
+    }
+
+    /* Function: removeFirst
+    * Behave: if size == 0, return false;
+    *         else copy the first record into dest and remove it */
+    public boolean removeFirst(byte[] dest) {
+        if (size == 0) {
+            return false;
+        }
+        read(first, dest);
+        first = (first + 1) & mask;
+        size -= 1;
+        writeHeader();
+        return true;
+    }
+
+    /* Function: removeLast
+    * Behave: if size == 0, return false;
+    *         else copy the last record into dest and remove it */
+    public boolean removeLast(byte[] dest) {
+        if (size == 0) {
+            return false;
+        }
+        read((first + size - 1) & mask, dest);
+        size -= 1;
+        writeHeader();
+        return true;
+    }
+
+    /* Function: get
+    * Behave: if index is out of range, return false;
+    *         else copy the ith record into dest */
+    public boolean get(long index, byte[] dest) {
+        if (index < 0 || index >= size) {
+            return false;
+        }
+        read((first + index) & mask, dest);
+        return true;
+    }
+
+    /* Function: getLong
+    * Behave: read one field of the ith record in place, without copying it out */
+    public long getLong(long index, int offset) {
+        checkField(index, offset, Long.BYTES);
+        long pos = (first + index) & mask;
+        return segment(pos).getLong(offsetOf(pos) + offset);
+    }
+
+    /* Function: getDouble
+    * Behave: read one field of the ith record in place, without copying it out */
+    public double getDouble(long index, int offset) {
+        checkField(index, offset, Double.BYTES);
+        long pos = (first + index) & mask;
+        return segment(pos).getDouble(offsetOf(pos) + offset);
+    }
+
+    /* Function: force
+    * Behave: for a file-backed deque, flush records and header to disk */
+    public void force() {
+        if (channel == null) {
+            return;
+        }
+        for (ByteBuffer segment : segments) {
+            ((MappedByteBuffer) segment).force();
+        }
+        ((MappedByteBuffer) header).force();
+    }
+
+    /* Function: close
+    * Behave: flush and release the file; the mapping itself goes away
+    *         once the buffers are collected */
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            force();
+            channel.close();
+        }
+    }
+
+    /* Helper Function: segment */
+    private ByteBuffer segment(long pos) {
+        return segments[(int) (pos >>> segmentShift)];
+    }
+
+    /* Helper Function: offsetOf
+    * Behave: byte offset of ring position pos inside its segment */
+    private int offsetOf(long pos) {
+        return (int) ((pos & segmentMask) * recordSize);
+    }
+
+    /* Helper Function: write */
+    private void write(long pos, byte[] record) {
+        ByteBuffer segment = segment(pos).duplicate();
+        segment.position(offsetOf(pos));
+        segment.put(record, 0, recordSize);
+    }
+
+    /* Helper Function: read */
+    private void read(long pos, byte[] dest) {
+        if (dest.length < recordSize) {
+            throw new IllegalArgumentException("dest holds " + dest.length + " bytes, need " + recordSize);
+        }
+        ByteBuffer segment = segment(pos).duplicate();
+        segment.position(offsetOf(pos));
+        segment.get(dest, 0, recordSize);
+    }
+
+    /* Helper Function: writeHeader
+    * Behave: two separate stores, so the header is only known to be
+    *         consistent with the records after force() */
+    private void writeHeader() {
+        header.putLong(FIRST_POS, first);
+        header.putLong(SIZE_POS, size);
+    }
+
+    /* Helper Function: checkRoom */
+    private void checkRoom(byte[] record) {
+        if (record.length < recordSize) {
+            throw new IllegalArgumentException("record holds " + record.length + " bytes, need " + recordSize);
+        }
+        if (size == capacity) {
+            throw new IllegalStateException("deque is full at " + capacity + " records");
+        }
+    }
+
+    /* Helper Function: checkField */
+    private void checkField(long index, int offset, int width) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " of " + size);
+        }
+        if (offset < 0 || offset + width > recordSize) {
+            throw new IndexOutOfBoundsException("field at " + offset + " does not fit in " + recordSize);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package deque;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+
+public class OffHeapDequeTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /* A 16-byte record holding a long and a double. */
+    private static byte[] record(long id, double value) {
+        return ByteBuffer.allocate(16).putLong(id).putDouble(value).array();
+    }
+
+    private static long idOf(byte[] record) {
+        return ByteBuffer.wrap(record).getLong(0);
+    }
+
+    @Test
+    /* Ring operations should match ArrayDeque, including wrap-around. */
+    public void ringTest() {
+        OffHeapDeque ohd = new OffHeapDeque(16, 100);
+        assertEquals("Capacity should round up to a power of two", 128, ohd.capacity());
+        assertTrue("A newly initialized OffHeapDeque should be empty", ohd.isEmpty());
+        byte[] dest = new byte[16];
+        assertFalse(ohd.removeFirst(dest));
+        assertFalse(ohd.removeLast(dest));
+
+        ArrayDeque<Long> ad = new ArrayDeque<>();
+        for (long i = 0; i < 1000; i++) {
+            if (ohd.size() == ohd.capacity() || i % 5 == 4) {
+                assertTrue(ohd.removeFirst(dest));
+                assertEquals((long) ad.removeFirst(), idOf(dest));
+            } else if (i % 2 == 0) {
+                ohd.addFirst(record(i, i / 2.0));
+                ad.addFirst(i);
+            } else {
+                ohd.addLast(record(i, i / 2.0));
+                ad.addLast(i);
+            }
+        }
+        assertEquals(ad.size(), ohd.size());
+        for (int i = 0; i < ad.size(); i++) {
+            assertTrue(ohd.get(i, dest));
+            assertEquals((long) ad.get(i), idOf(dest));
+            assertEquals((long) ad.get(i), ohd.getLong(i, 0));
+            assertEquals(ad.get(i) / 2.0, ohd.getDouble(i, 8), 0.0);
+        }
+        assertTrue(ohd.removeLast(dest));
+        assertEquals((long) ad.removeLast(), idOf(dest));
+    }
+
+    @Test
+    /* Adding to a full deque should throw. */
+    public void fullTest() {
+        OffHeapDeque ohd = new OffHeapDeque(16, 8);
+        for (int i = 0; i < 8; i++) {
+            ohd.addLast(record(i, 0));
+        }
+        try {
+            ohd.addFirst(record(8, 0));
+            fail("addFirst on a full deque should throw");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    /* A file-backed deque should come back intact after reopening. */
+    public void reopenTest() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("frames.deque");
+        try (OffHeapDeque ohd = OffHeapDeque.open(file, 16, 64)) {
+            for (long i = 0; i < 50; i++) {
+                ohd.addLast(record(i, i));
+            }
+            byte[] dest = new byte[16];
+            for (int i = 0; i < 20; i++) {
+                ohd.removeFirst(dest);
+            }
+            ohd.addFirst(record(-1, -1));
+        }
+        try (OffHeapDeque ohd = OffHeapDeque.open(file, 16, 4)) {
+            assertEquals("Capacity should come from the file", 64, ohd.capacity());
+            assertEquals(31, ohd.size());
+            assertEquals(-1, ohd.getLong(0, 0));
+            for (int i = 1; i < 31; i++) {
+                assertEquals(19 + i, ohd.getLong(i, 0));
+            }
+        }
+        try {
+            OffHeapDeque.open(file, 8, 64);
+            fail("Opening with a different record size should throw");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
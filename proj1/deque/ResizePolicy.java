@@ -0,0 +1,102 @@
+package deque;
+
+/* How an ArrayDeque grows and shrinks its ring.
+ * Capacities stay powers of two, so that the ring can wrap with a mask:
+ * growthFactor and shrinkFactor must be powers of two, and minCapacity
+ * is rounded up to one.
+ * The ring grows by growthFactor when full. It shrinks by shrinkFactor once
+ * size < capacity / shrinkWhenBelow, but never below minCapacity.
+ * Picking shrinkWhenBelow larger than shrinkFactor leaves slack after a
+ * shrink, so a deque oscillating around a boundary does not resize on every
+ * call; shrinkWhenBelow == NEVER_SHRINK turns shrinking off. */
+public class ResizePolicy {
+    /* Constant values */
+    public static final int NEVER_SHRINK = 0;
+    private static final int SMALLEST_CAPACITY = 8;
+
+    /* Grow x2; once under a quarter full, shrink to a quarter; at least 8 slots.
+    * Like ArrayDeque always has, it never shrinks while holding 8 items or fewer. */
+    public static final ResizePolicy DEFAULT =
+            new ResizePolicy(2, 4, 4, SMALLEST_CAPACITY, SMALLEST_CAPACITY);
+
+
+    /* ResizePolicy class's members */
+    private final int growthFactor;
+    private final int shrinkWhenBelow;
+    private final int shrinkFactor;
+    private final int minCapacity;
+    private final int minShrinkSize;
+
+
+    /* Function: construct */
+    public ResizePolicy(int growthFactor, int shrinkWhenBelow, int shrinkFactor, int minCapacity) {
+        this(growthFactor, shrinkWhenBelow, shrinkFactor, minCapacity, 0);
+    }
+
+    /* Function: construct
+    * Behave: as above, but stay put while size <= minShrinkSize */
+    private ResizePolicy(int growthFactor, int shrinkWhenBelow, int shrinkFactor, int minCapacity,
+                         int minShrinkSize) {
+        if (growthFactor < 2 || Integer.bitCount(growthFactor) != 1) {
+            throw new IllegalArgumentException("growthFactor must be a power of two >= 2: " + growthFactor);
+        }
+        if (shrinkWhenBelow != NEVER_SHRINK) {
+            if (shrinkFactor < 2 || Integer.bitCount(shrinkFactor) != 1) {
+                throw new IllegalArgumentException("shrinkFactor must be a power of two >= 2: " + shrinkFactor);
+            }
+            if (shrinkWhenBelow < shrinkFactor) {
+                throw new IllegalArgumentException("shrinkWhenBelow must be >= shrinkFactor, "
+                        + "or the items would not fit after shrinking");
+            }
+        }
+        if (minCapacity < 0) {
+            throw new IllegalArgumentException("minCapacity must be non-negative: " + minCapacity);
+        }
+        this.growthFactor = growthFactor;
+        this.shrinkWhenBelow = shrinkWhenBelow;
+        this.shrinkFactor = shrinkFactor;
+        this.minCapacity = roundUp(minCapacity);
+        this.minShrinkSize = minShrinkSize;
+    }
+
+    /* Function: neverShrink
+    * Behave: grow by growthFactor, keep every slot once allocated */
+    public static ResizePolicy neverShrink(int growthFactor, int minCapacity) {
+        return new ResizePolicy(growthFactor, NEVER_SHRINK, 0, minCapacity);
+    }
+
+    /* Function: minCapacity */
+    public int minCapacity() {
+        return minCapacity;
+    }
+
+    /* Function: roundUp
+    * Behave: the smallest legal capacity that holds n items */
+    public static int roundUp(int n) {
+        if (n <= SMALLEST_CAPACITY) {
+            return SMALLEST_CAPACITY;
+        }
+        return Integer.highestOneBit(n - 1) << 1;
+    }
+
+    /* Helper Function: grow */
+    int grow(int capacity) {
+        return capacity * growthFactor;
+    }
+
+    /* Helper Function: shrinks
+    * Behave: whether this policy ever gives slots back */
+    boolean shrinks() {
+        return shrinkWhenBelow != NEVER_SHRINK;
+    }
+
+    /* Helper Function: shrink
+    * Behave: return the capacity to shrink to, or capacity itself to stay put */
+    int shrink(int size, int capacity) {
+        if (shrinkWhenBelow == NEVER_SHRINK || capacity <= minCapacity
+                || size >= capacity / shrinkWhenBelow || size <= minShrinkSize) {
+            return capacity;
+        }
+        return Math.max(capacity / shrinkFactor, minCapacity);
+    }
+}
@@ -0,0 +1,107 @@
+package deque;
+
+/* java.util.List's hashCode, 31^n + sum of hash(e_i) * 31^(n-1-i),
+ * maintained in O(1) as items enter or leave either end of a deque,
+ * so a deque never rescans its items to answer hashCode() twice.
+ * It is lazy: until the first value() call, and again whenever the deque
+ * empties, the updates do nothing and call no item's hashCode. value()
+ * then computes the hash in full and tracks it from there on.
+ * All arithmetic is mod 2^32. 31 is odd, so it has an inverse there,
+ * and removing from the back can undo the multiply that adding did.
+ * The hash is only right while each item's own hashCode stays fixed,
+ * as with any hashed key; once the deque empties it is right again. */
+final class RollingHash {
+    /* Constant values */
+    private static final int INVERSE_31 = 0xBDEF7BDF;
+
+
+    /* RollingHash class's members
+    * pow is 31^n for the current number of items n;
+    * hash, pow and n mean nothing unless tracking */
+    private boolean tracking;
+    private int hash;
+    private int pow;
+    private int n;
+
+
+    /* Function: construct */
+    RollingHash() {
+        reset();
+    }
+
+    /* Function: value
+    * Behave: if not tracking yet, hash items in full and start tracking */
+    int value(Iterable<?> items) {
+        if (!tracking) {
+            hash = 1;
+            pow = 1;
+            n = 0;
+            tracking = true;
+            for (Object item : items) {
+                addLast(item);
+            }
+        }
+        return hash;
+    }
+
+    /* Function: reset
+    * Behave: stop tracking until the next value() */
+    void reset() {
+        tracking = false;
+    }
+
+    /* Function: addLast */
+    void addLast(Object item) {
+        if (!tracking) {
+            return;
+        }
+        hash = 31 * hash + hashOf(item);
+        pow *= 31;
+        n += 1;
+    }
+
+    /* Function: addFirst
+    * Behave: the new item weighs 31^n, and the leading 31^n becomes 31^(n+1) */
+    void addFirst(Object item) {
+        if (!tracking) {
+            return;
+        }
+        hash += (hashOf(item) + 30) * pow;
+        pow *= 31;
+        n += 1;
+    }
+
+    /* Function: removeLast */
+    void removeLast(Object item) {
+        if (!tracking) {
+            return;
+        }
+        hash = (hash - hashOf(item)) * INVERSE_31;
+        pow *= INVERSE_31;
+        removed();
+    }
+
+    /* Function: removeFirst */
+    void removeFirst(Object item) {
+        if (!tracking) {
+            return;
+        }
+        pow *= INVERSE_31;
+        hash -= (hashOf(item) + 30) * pow;
+        removed();
+    }
+
+    /* Helper Function: removed
+    * Behave: an empty deque drops any error a mutated item left behind */
+    private void removed() {
+        n -= 1;
+        if (n == 0) {
+            reset();
+        }
+    }
+
+    /* Helper Function: hashOf */
+    private static int hashOf(Object item) {
+        return item == null ? 0 : item.hashCode();
+    }
+}
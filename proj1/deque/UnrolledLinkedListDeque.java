@@ -0,0 +1,274 @@
+package deque;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/* An unrolled linked deque: a circular, sentinel-headed list of chunks,
+ * where each chunk holds up to CHUNK_SIZE items in a small array.
+ * The prev/next/header overhead is paid once per chunk instead of once per
+ * item, and iteration walks contiguous array slots between pointer hops.
+ * The most recently emptied chunk is kept as a spare, so a deque that
+ * oscillates around a chunk boundary does not allocate on every add. */
+public class UnrolledLinkedListDeque<T> implements Deque<T> {
+    /* Constant values */
+    private static final int CHUNK_SIZE = 64;
+
+
+    /* Chunk class
+    * Behave: items[start, end) are occupied */
+    private class Chunk {
+        private final T[] items;
+        private int start;
+        private int end;
+        private Chunk prev;
+        private Chunk next;
+
+        public Chunk() {
+            items = (T[]) new Object[CHUNK_SIZE];
+        }
+
+        private int count() {
+            return end - start;
+        }
+    }
+
+    /* UnrolledLinkedListDequeIterator class
+    * Behave: fail fast if the deque is modified during iteration */
+    private class UnrolledLinkedListDequeIterator implements Iterator<T> {
+        private Chunk curr;
+        private int pos;
+        private final int expectedModCount;
+
+        public UnrolledLinkedListDequeIterator() {
+            curr = sentinel.next;
+            pos = curr.start;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return curr != sentinel;
+        }
+
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (curr == sentinel) {
+                throw new NoSuchElementException();
+            }
+            T val = curr.items[pos];
+            pos += 1;
+            if (pos == curr.end) {
+                curr = curr.next;
+                pos = curr.start;
+            }
+            return val;
+        }
+    }
+
+
+    /* UnrolledLinkedListDeque class's members */
+    private int size;
+    private Chunk sentinel;
+    private Chunk spare;
+    private int modCount;
+
+
+    /* Function: construct
+    * Behave: the sentinel never holds items; start == end keeps iteration empty */
+    public UnrolledLinkedListDeque() {
+        size = 0;
+        sentinel = new Chunk();
+        sentinel.prev = sentinel;
+        sentinel.next = sentinel;
+    }
+
+    /* Function: addFirst
+    * Behave: if the head chunk has no room in front, link a new chunk
+    *         that fills from its back end */
+    public void addFirst(T item) {
+        Chunk head = sentinel.next;
+        if (head == sentinel || head.start == 0) {
+            head = newChunk(CHUNK_SIZE);
+            linkBetween(head, sentinel, sentinel.next);
+        }
+        head.start -= 1;
+        head.items[head.start] = item;
+        size += 1;
+        modCount += 1;
+    }
+
+    /* Function: addLast
+    * Behave: if the tail chunk has no room behind, link a new chunk
+    *         that fills from its front end */
+    public void addLast(T item) {
+        Chunk tail = sentinel.prev;
+        if (tail == sentinel || tail.end == CHUNK_SIZE) {
+            tail = newChunk(0);
+            linkBetween(tail, sentinel.prev, sentinel);
+        }
+        tail.items[tail.end] = item;
+        tail.end += 1;
+        size += 1;
+        modCount += 1;
+    }
+
+    /* Function: isEmpty */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /* Function: size */
+    public int size() {
+        return size;
+    }
+
+    /* Function: printDeque
+    * Behave: use iterator */
+    public void printDeque() {
+        for (T val : this) {
+            System.out.print(val + " ");
+        }
+        System.out.println();
+    }
+
+    /* Function: removeFirst
+    * Behave: if size == 0, do nothing;
+    *         else remove the first item, unlinking its chunk once empty */
+    public T removeFirst() {
+        if (size == 0) {
+            return null;
+        }
+        Chunk head = sentinel.next;
+        T val = head.items[head.start];
+        head.items[head.start] = null;
+        head.start += 1;
+        if (head.count() == 0) {
+            unlink(head);
+        }
+        size -= 1;
+        modCount += 1;
+        return val;
+    }
+
+    /* Function: removeLast
+    * Behave: if size == 0, do nothing;
+    *         else remove the last item, unlinking its chunk once empty */
+    public T removeLast() {
+        if (size == 0) {
+            return null;
+        }
+        Chunk tail = sentinel.prev;
+        tail.end -= 1;
+        T val = tail.items[tail.end];
+        tail.items[tail.end] = null;
+        if (tail.count() == 0) {
+            unlink(tail);
+        }
+        size -= 1;
+        modCount += 1;
+        return val;
+    }
+
+    /* Function: get
+    * Behave: hop whole chunks from whichever end is closer */
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            return null;
+        }
+        if (index < size / 2) {
+            Chunk curr = sentinel.next;
+            while (index >= curr.count()) {
+                index -= curr.count();
+                curr = curr.next;
+            }
+            return curr.items[curr.start + index];
+        }
+        int fromBack = size - 1 - index;
+        Chunk curr = sentinel.prev;
+        while (fromBack >= curr.count()) {
+            fromBack -= curr.count();
+            curr = curr.prev;
+        }
+        return curr.items[curr.end - 1 - fromBack];
+    }
+
+    /* Function: iterator */
+    @Override
+    public Iterator<T> iterator() {
+        return new UnrolledLinkedListDequeIterator();
+    }
+
+    /* Function: equals
+    * Behave: equal to any Deque with equal items in the same order;
+    *         compared through iterators */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof Deque)) {
+            return false;
+        }
+        Deque<?> other = (Deque<?>) o;
+        if (this.size() != other.size()) {
+            return false;
+        }
+        Iterator<?> p = other.iterator();
+        for (T val1 : this) {
+            if (!Objects.equals(val1, p.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /* Function: hashCode
+    * Behave: java.util.List's formula, like the other Deques, so equal
+    *         Deques hash alike; walks the chunks on every call */
+    @Override
+    public int hashCode() {
+        int h = 1;
+        for (T val : this) {
+            h = 31 * h + Objects.hashCode(val);
+        }
+        return h;
+    }
+
+    /* Helper Function: newChunk
+    * Behave: reuse the spare chunk if there is one; an empty chunk
+    *         starts with start == end == offset */
+    private Chunk newChunk(int offset) {
+        Chunk chunk = spare;
+        if (chunk == null) {
+            chunk = new Chunk();
+        } else {
+            spare = null;
+        }
+        chunk.start = offset;
+        chunk.end = offset;
+        return chunk;
+    }
+
+    /* Helper Function: linkBetween */
+    private void linkBetween(Chunk chunk, Chunk prev, Chunk next) {
+        chunk.prev = prev;
+        chunk.next = next;
+        prev.next = chunk;
+        next.prev = chunk;
+    }
+
+    /* Helper Function: unlink
+    * Behave: remove an empty chunk from the list and keep it as the spare */
+    private void unlink(Chunk chunk) {
+        chunk.prev.next = chunk.next;
+        chunk.next.prev = chunk.prev;
+        chunk.prev = null;
+        chunk.next = null;
+        spare = chunk;
+    }
+}
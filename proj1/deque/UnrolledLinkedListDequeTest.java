@@ -0,0 +1,115 @@
+package deque;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+
+public class UnrolledLinkedListDequeTest {
+    @Test
+    /* Adds a few things to the deque, checking isEmpty() and size() are correct. */
+    public void addIsEmptySizeTest() {
+        UnrolledLinkedListDeque<String> uld1 = new UnrolledLinkedListDeque<>();
+
+        assertTrue("A newly initialized UnrolledLinkedListDeque should be empty", uld1.isEmpty());
+        uld1.addFirst("front");
+        assertEquals(1, uld1.size());
+        assertFalse("uld1 should now contain 1 item", uld1.isEmpty());
+
+        uld1.addLast("middle");
+        assertEquals(2, uld1.size());
+
+        uld1.addLast("back");
+        assertEquals(3, uld1.size());
+
+        System.out.println("Printing out deque: ");
+        uld1.printDeque();
+    }
+
+    @Test
+    /* check if null is return when removing from an empty deque. */
+    public void emptyNullReturnTest() {
+        UnrolledLinkedListDeque<Integer> uld1 = new UnrolledLinkedListDeque<>();
+        assertNull("Should return null when removeFirst is called on an empty Deque,", uld1.removeFirst());
+        assertNull("Should return null when removeLast is called on an empty Deque,", uld1.removeLast());
+        uld1.addFirst(3);
+        uld1.removeLast();
+        assertNull(uld1.removeFirst());
+        assertEquals(0, uld1.size());
+    }
+
+    @Test
+    /* Add large number of elements to deque; check if order is correct. */
+    public void bigDequeTest() {
+        UnrolledLinkedListDeque<Integer> uld1 = new UnrolledLinkedListDeque<>();
+        for (int i = 0; i < 1000000; i++) {
+            uld1.addLast(i);
+        }
+
+        for (double i = 0; i < 500000; i++) {
+            assertEquals("Should have the same value", i, (double) uld1.removeFirst(), 0.0);
+        }
+
+        for (double i = 999999; i > 500000; i--) {
+            assertEquals("Should have the same value", i, (double) uld1.removeLast(), 0.0);
+        }
+    }
+
+    @Test
+    /* Random operations should match LinkedListDeque, including get and iterator. */
+    public void randomizedMatchTest() {
+        Random random = new Random(61);
+        UnrolledLinkedListDeque<Integer> uld = new UnrolledLinkedListDeque<>();
+        LinkedListDeque<Integer> lld = new LinkedListDeque<>();
+        for (int i = 0; i < 20000; i++) {
+            int op = random.nextInt(5);
+            if (op == 0) {
+                uld.addFirst(i);
+                lld.addFirst(i);
+            } else if (op == 1) {
+                uld.addLast(i);
+                lld.addLast(i);
+            } else if (op == 2) {
+                assertEquals(lld.removeFirst(), uld.removeFirst());
+            } else if (op == 3) {
+                assertEquals(lld.removeLast(), uld.removeLast());
+            } else if (uld.size() > 0) {
+                int index = random.nextInt(uld.size());
+                assertEquals(lld.get(index), uld.get(index));
+            }
+            assertEquals(lld.size(), uld.size());
+        }
+        int cnt = 0;
+        for (int x : uld) {
+            assertEquals("Should have the same value", (int) lld.get(cnt), x);
+            cnt++;
+        }
+        assertEquals(lld.size(), cnt);
+    }
+
+    @Test
+    /* Test equals function. */
+    public void equalsTest() {
+        UnrolledLinkedListDeque<Integer> lst1 = new UnrolledLinkedListDeque<>();
+        UnrolledLinkedListDeque<Integer> lst2 = new UnrolledLinkedListDeque<>();
+        for (int i = 0; i < 100; i++) {
+            lst1.addLast(i);
+            lst2.addFirst(99 - i);
+        }
+        assertEquals("Should have the same value", lst1, lst2);
+
+        ArrayDeque<Integer> lst3 = new ArrayDeque<>();
+        for (int i = 0; i < 100; i++) {
+            lst3.addLast(i);
+        }
+        assertEquals("Should equal other Deques with the same items", lst1, lst3);
+        assertEquals(lst3, lst1);
+        assertEquals(lst1.hashCode(), lst2.hashCode());
+        assertEquals("hashCode should match the other Deques'", lst3.hashCode(), lst1.hashCode());
+
+        lst2.removeLast();
+        assertNotEquals("Should not have the same value", lst1, lst2);
+    }
+}
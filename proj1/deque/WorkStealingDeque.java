@@ -0,0 +1,126 @@
+package deque;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/* A lock-free Chase-Lev work-stealing deque.
+ * One owner thread uses addLast/removeLast on the bottom end, like a stack;
+ * any number of thief threads use removeFirst on the top end.
+ * Only a thief racing the owner for the very last item ever needs a CAS,
+ * so the owner's common path is a plain read and a volatile write.
+ * There is no addFirst or get: they would need both ends to move under
+ * contention. Use ArrayDeque when only one thread touches it. */
+public class WorkStealingDeque<T> {
+    /* Constant values
+    * INITIAL_SIZE is a power of two and the ring only ever doubles */
+    private static final int INITIAL_SIZE = 8;
+
+
+    /* WorkStealingDeque class's members
+    * top and bottom are logical positions that only ever grow;
+    * an item at position p lives in items[p & (items.length() - 1)] */
+    private final AtomicLong top;
+    private volatile long bottom;
+    private volatile AtomicReferenceArray<T> items;
+
+
+    /* Function: construct */
+    public WorkStealingDeque() {
+        top = new AtomicLong(0);
+        bottom = 0;
+        items = new AtomicReferenceArray<>(INITIAL_SIZE);
+    }
+
+    /* Function: addLast
+    * Behave: owner only; publish the item, then the new bottom */
+    public void addLast(T item) {
+        long b = bottom;
+        long t = top.get();
+        AtomicReferenceArray<T> a = items;
+        if (b - t >= a.length()) {
+            a = resize(a, b, t);
+        }
+        a.lazySet((int) b & (a.length() - 1), item);
+        bottom = b + 1;
+    }
+
+    /* Function: isEmpty */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /* Function: size
+    * Behave: a snapshot; it may be stale by the time the caller reads it */
+    public int size() {
+        long n = bottom - top.get();
+        return n > 0 ? (int) n : 0;
+    }
+
+    /* Function: printDeque
+    * Behave: a best-effort snapshot from top to bottom */
+    public void printDeque() {
+        long t = top.get();
+        long b = bottom;
+        AtomicReferenceArray<T> a = items;
+        for (long i = t; i < b; i++) {
+            System.out.print(a.get((int) i & (a.length() - 1)) + " ");
+        }
+        System.out.println();
+    }
+
+    /* Function: removeFirst
+    * Behave: any thread; steal the top item, retrying if another thief
+    *         or the owner takes it first; return null once the deque is empty */
+    public T removeFirst() {
+        while (true) {
+            long t = top.get();
+            long b = bottom;
+            if (t >= b) {
+                return null;
+            }
+            AtomicReferenceArray<T> a = items;
+            T val = a.get((int) t & (a.length() - 1));
+            if (top.compareAndSet(t, t + 1)) {
+                return val;
+            }
+        }
+    }
+
+    /* Function: removeLast
+    * Behave: owner only; claim the bottom slot first, then check whether
+    *         a thief could be reaching for the same item */
+    public T removeLast() {
+        long b = bottom - 1;
+        AtomicReferenceArray<T> a = items;
+        bottom = b;
+        long t = top.get();
+        if (t > b) {
+            bottom = b + 1;
+            return null;
+        }
+        int index = (int) b & (a.length() - 1);
+        T val = a.get(index);
+        if (t < b) {
+            a.lazySet(index, null);
+            return val;
+        }
+        if (!top.compareAndSet(t, t + 1)) {
+            val = null;
+        }
+        bottom = b + 1;
+        return val;
+    }
+
+    /* Helper Function: resize
+    * Behave: owner only; copy [t, b) into a ring twice as large.
+    *         Thieves still holding the old ring read the same items there,
+    *         since the owner never writes to it again */
+    private AtomicReferenceArray<T> resize(AtomicReferenceArray<T> old, long b, long t) {
+        AtomicReferenceArray<T> newItems = new AtomicReferenceArray<>(old.length() * 2);
+        for (long i = t; i < b; i++) {
+            newItems.lazySet((int) i & (newItems.length() - 1), old.get((int) i & (old.length() - 1)));
+        }
+        items = newItems;
+        return newItems;
+    }
+}
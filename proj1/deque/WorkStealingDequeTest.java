@@ -0,0 +1,79 @@
+package deque;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.Assert.*;
+
+
+public class WorkStealingDequeTest {
+    @Test
+    /* The owner end behaves like a stack, the thief end like a queue. */
+    public void singleThreadTest() {
+        WorkStealingDeque<Integer> wsd = new WorkStealingDeque<>();
+        assertTrue("A newly initialized WorkStealingDeque should be empty", wsd.isEmpty());
+        assertNull(wsd.removeFirst());
+        assertNull(wsd.removeLast());
+
+        for (int i = 0; i < 100; i++) {
+            wsd.addLast(i);
+        }
+        assertEquals(100, wsd.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals("Should have the same value", i, (int) wsd.removeFirst());
+        }
+        for (int i = 99; i >= 50; i--) {
+            assertEquals("Should have the same value", i, (int) wsd.removeLast());
+        }
+        assertTrue("wsd should be empty", wsd.isEmpty());
+        assertNull(wsd.removeLast());
+    }
+
+    @Test
+    /* Every item pushed by the owner is taken exactly once, by the owner or a thief. */
+    public void concurrentStealTest() throws InterruptedException {
+        final int n = 200000;
+        final int thieves = 3;
+        WorkStealingDeque<Integer> wsd = new WorkStealingDeque<>();
+        AtomicIntegerArray taken = new AtomicIntegerArray(n);
+        Thread[] threads = new Thread[thieves];
+        AtomicBoolean done = new AtomicBoolean(false);
+        for (int k = 0; k < thieves; k++) {
+            threads[k] = new Thread(() -> {
+                while (true) {
+                    Integer x = wsd.removeFirst();
+                    if (x != null) {
+                        taken.incrementAndGet(x);
+                    } else if (done.get()) {
+                        return;
+                    }
+                }
+            });
+            threads[k].start();
+        }
+
+        for (int i = 0; i < n; i++) {
+            wsd.addLast(i);
+            if (i % 3 == 0) {
+                Integer x = wsd.removeLast();
+                if (x != null) {
+                    taken.incrementAndGet(x);
+                }
+            }
+        }
+        Integer x;
+        while ((x = wsd.removeLast()) != null) {
+            taken.incrementAndGet(x);
+        }
+        done.set(true);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int i = 0; i < n; i++) {
+            assertEquals("Item " + i + " should be taken exactly once", 1, taken.get(i));
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package timingtest;
+
+import deque.ArrayDeque;
+import edu.princeton.cs.algs4.Stopwatch;
+
+/**
+ * Times get(i) and iteration over deque.ArrayDeque, whose ring wraps indices
+ * with a power-of-two mask, against ModuloDeque, which keeps the old % wrapping.
+ */
+public class TimeArrayDeque {
+    private static final int ROUNDS = 20;
+
+    /* The ring indexing ArrayDeque used before its capacity was kept at a
+     * power of two; only what the timings below need is kept. */
+    private static class ModuloDeque<T> {
+        private int size;
+        private int firstPrev;
+        private int lastNext;
+        private T[] items;
+
+        ModuloDeque() {
+            size = 0;
+            firstPrev = 3;
+            lastNext = 4;
+            items = (T[]) new Object[8];
+        }
+
+        void addLast(T item) {
+            if (size == items.length) {
+                resize(2 * size);
+            }
+            items[lastNext] = item;
+            lastNext = (lastNext + 1) % items.length;
+            size += 1;
+        }
+
+        T get(int index) {
+            if (index < 0 || index >= size) {
+                return null;
+            }
+            return items[(firstPrev + 1 + index) % items.length];
+        }
+
+        int size() {
+            return size;
+        }
+
+        private void resize(int capacity) {
+            T[] newItems = (T[]) new Object[capacity];
+            int p = (firstPrev + 1) % items.length;
+            int q = 4;
+            for (int i = 0; i < size; i++) {
+                newItems[q] = items[p];
+                p = (p + 1) % items.length;
+                q = (q + 1) % capacity;
+            }
+            firstPrev = 3;
+            lastNext = q;
+            items = newItems;
+        }
+    }
+
+    private static void printTimingTable(ArrayDeque<String> names, ArrayDeque<Integer> Ns,
+                                         ArrayDeque<Double> times, ArrayDeque<Integer> opCounts) {
+        System.out.printf("%12s %12s %12s %12s %12s\n", "variant", "N", "time (s)", "# ops", "nanosec/op");
+        System.out.printf("-----------------------------------------------------------------\n");
+        for (int i = 0; i < Ns.size(); i += 1) {
+            int N = Ns.get(i);
+            double time = times.get(i);
+            int opCount = opCounts.get(i);
+            double timePerOp = time / opCount * 1e9;
+            System.out.printf("%12s %12d %12.3f %12d %12.2f\n", names.get(i), N, time, opCount, timePerOp);
+        }
+    }
+
+    public static void main(String[] args) {
+        timeGet();
+        System.out.println();
+        timeIterate();
+    }
+
+    public static void timeGet() {
+        ArrayDeque<String> names = new ArrayDeque<>();
+        ArrayDeque<Integer> Ns = new ArrayDeque<>();
+        ArrayDeque<Double> times = new ArrayDeque<>();
+        ArrayDeque<Integer> opCounts = new ArrayDeque<>();
+        for (int n = 1000; n <= 1024000; n *= 4) {
+            ArrayDeque<Integer> mask = new ArrayDeque<>();
+            ModuloDeque<Integer> modulo = new ModuloDeque<>();
+            for (int i = 0; i < n; i++) {
+                mask.addLast(i);
+                modulo.addLast(i);
+            }
+            long sink = 0;
+
+            // 预热
+            for (int i = 0; i < n; i++) {
+                sink += mask.get(i) + modulo.get(i);
+            }
+
+            Stopwatch sw = new Stopwatch();
+            for (int r = 0; r < ROUNDS; r++) {
+                for (int i = 0; i < n; i++) {
+                    sink += modulo.get(i);
+                }
+            }
+            names.addLast("modulo");
+            Ns.addLast(n);
+            times.addLast(sw.elapsedTime());
+            opCounts.addLast(ROUNDS * n);
+
+            sw = new Stopwatch();
+            for (int r = 0; r < ROUNDS; r++) {
+                for (int i = 0; i < n; i++) {
+                    sink += mask.get(i);
+                }
+            }
+            names.addLast("mask");
+            Ns.addLast(n);
+            times.addLast(sw.elapsedTime());
+            opCounts.addLast(ROUNDS * n);
+
+            // 防止JIT把循环优化掉
+            if (sink == 42) {
+                System.out.println();
+            }
+        }
+        System.out.println("get(i)");
+        printTimingTable(names, Ns, times, opCounts);
+    }
+
+    public static void timeIterate() {
+        ArrayDeque<String> names = new ArrayDeque<>();
+        ArrayDeque<Integer> Ns = new ArrayDeque<>();
+        ArrayDeque<Double> times = new ArrayDeque<>();
+        ArrayDeque<Integer> opCounts = new ArrayDeque<>();
+        for (int n = 1000; n <= 1024000; n *= 4) {
+            ArrayDeque<Integer> mask = new ArrayDeque<>();
+            ModuloDeque<Integer> modulo = new ModuloDeque<>();
+            for (int i = 0; i < n; i++) {
+                mask.addLast(i);
+                modulo.addLast(i);
+            }
+            long sink = 0;
+
+            // 预热
+            for (int x : mask) {
+                sink += x;
+            }
+
+            // The old ArrayDeque iterator was exactly get(i) in a loop
+            Stopwatch sw = new Stopwatch();
+            for (int r = 0; r < ROUNDS; r++) {
+                for (int i = 0; i < modulo.size(); i++) {
+                    sink += modulo.get(i);
+                }
+            }
+            names.addLast("modulo");
+            Ns.addLast(n);
+            times.addLast(sw.elapsedTime());
+            opCounts.addLast(ROUNDS * n);
+
+            sw = new Stopwatch();
+            for (int r = 0; r < ROUNDS; r++) {
+                for (int x : mask) {
+                    sink += x;
+                }
+            }
+            names.addLast("mask");
+            Ns.addLast(n);
+            times.addLast(sw.elapsedTime());
+            opCounts.addLast(ROUNDS * n);
+
+            // 防止JIT把循环优化掉
+            if (sink == 42) {
+                System.out.println();
+            }
+        }
+        System.out.println("iterate");
+        printTimingTable(names, Ns, times, opCounts);
+    }
+}
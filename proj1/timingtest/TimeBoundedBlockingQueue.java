@@ -0,0 +1,60 @@
+package timingtest;
+
+import deque.BoundedBlockingQueue;
+import edu.princeton.cs.algs4.Stopwatch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Times one producer handing ITEMS items to one consumer through a
+ * BoundedBlockingQueue, with the consumer taking one item per lock
+ * acquisition against taking whole batches with drainTo.
+ */
+public class TimeBoundedBlockingQueue {
+    private static final int ITEMS = 2000000;
+    private static final int CAPACITY = 1024;
+
+    public static void main(String[] args) throws InterruptedException {
+        // 预热
+        timeHandoff(1);
+        timeHandoff(256);
+
+        System.out.printf("%12s %12s %12s\n", "batch", "time (s)", "nanosec/item");
+        System.out.printf("--------------------------------------\n");
+        for (int batch = 1; batch <= 1024; batch *= 4) {
+            double time = timeHandoff(batch);
+            System.out.printf("%12d %12.3f %12.2f\n", batch, time, time / ITEMS * 1e9);
+        }
+    }
+
+    /* Returns seconds to move every item; batch == 1 means take() only. */
+    private static double timeHandoff(int batch) throws InterruptedException {
+        BoundedBlockingQueue<Integer> queue = new BoundedBlockingQueue<>(CAPACITY);
+        Integer item = 61;
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < ITEMS; i++) {
+                    queue.put(item);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        Stopwatch sw = new Stopwatch();
+        producer.start();
+        List<Integer> received = new ArrayList<>(batch);
+        int count = 0;
+        while (count < ITEMS) {
+            queue.take();
+            count += 1;
+            if (batch > 1) {
+                received.clear();
+                count += queue.drainTo(received, batch - 1);
+            }
+        }
+        producer.join();
+        return sw.elapsedTime();
+    }
+}
@@ -0,0 +1,81 @@
+package timingtest;
+
+import deque.ArrayDeque;
+import deque.LinkedListDeque;
+import edu.princeton.cs.algs4.Stopwatch;
+
+/**
+ * Times loading and flushing a batch one element at a time against
+ * addAll/drainTo, for both deque implementations.
+ */
+public class TimeDequeBulk {
+    private static final int N = 1000000;
+    private static final int ROUNDS = 10;
+
+    public static void main(String[] args) {
+        Integer[] batch = new Integer[N];
+        for (int i = 0; i < N; i++) {
+            batch[i] = i;
+        }
+        Integer[] out = new Integer[N];
+
+        // 预热
+        for (int r = 0; r < 3; r++) {
+            timeArrayDeque(batch, out);
+            timeLinkedListDeque(batch, out);
+        }
+
+        System.out.printf("%16s %12s %12s\n", "deque", "one-by-one", "bulk");
+        System.out.printf("------------------------------------------\n");
+        double[] times = timeArrayDeque(batch, out);
+        System.out.printf("%16s %12.3f %12.3f\n", "ArrayDeque", times[0], times[1]);
+        times = timeLinkedListDeque(batch, out);
+        System.out.printf("%16s %12.3f %12.3f\n", "LinkedListDeque", times[0], times[1]);
+    }
+
+    /* Returns {one-by-one seconds, bulk seconds} for ROUNDS load/flush cycles. */
+    private static double[] timeArrayDeque(Integer[] batch, Integer[] out) {
+        Stopwatch sw = new Stopwatch();
+        for (int r = 0; r < ROUNDS; r++) {
+            ArrayDeque<Integer> deque = new ArrayDeque<>();
+            for (Integer x : batch) {
+                deque.addLast(x);
+            }
+            for (int i = 0; i < N; i++) {
+                out[i] = deque.removeFirst();
+            }
+        }
+        double single = sw.elapsedTime();
+
+        sw = new Stopwatch();
+        for (int r = 0; r < ROUNDS; r++) {
+            ArrayDeque<Integer> deque = new ArrayDeque<>();
+            deque.addAll(batch);
+            deque.drainTo(out);
+        }
+        return new double[]{single, sw.elapsedTime()};
+    }
+
+    /* Returns {one-by-one seconds, bulk seconds} for ROUNDS load/flush cycles. */
+    private static double[] timeLinkedListDeque(Integer[] batch, Integer[] out) {
+        Stopwatch sw = new Stopwatch();
+        for (int r = 0; r < ROUNDS; r++) {
+            LinkedListDeque<Integer> deque = new LinkedListDeque<>();
+            for (Integer x : batch) {
+                deque.addLast(x);
+            }
+            for (int i = 0; i < N; i++) {
+                out[i] = deque.removeFirst();
+            }
+        }
+        double single = sw.elapsedTime();
+
+        sw = new Stopwatch();
+        for (int r = 0; r < ROUNDS; r++) {
+            LinkedListDeque<Integer> deque = new LinkedListDeque<>();
+            deque.addAll(batch);
+            deque.drainTo(out);
+        }
+        return new double[]{single, sw.elapsedTime()};
+    }
+}
@@ -0,0 +1,62 @@
+package timingtest;
+
+import deque.LinkedListDeque;
+import edu.princeton.cs.algs4.Stopwatch;
+
+import java.util.Random;
+
+/**
+ * Times LinkedListDeque.get(i) under indexed-scan patterns: a forward scan,
+ * a backward scan, and random jumps. get() walks from the nearest of the
+ * front, the back and its finger; getRecursive() only picks the nearer end,
+ * so it shows what the finger saves.
+ */
+public class TimeLinkedListDequeGet {
+    private static void printTimingTable(String pattern, int N, double getTime, double recursiveTime) {
+        System.out.printf("%12s %12d %12.3f %12.3f\n", pattern, N, getTime, recursiveTime);
+    }
+
+    public static void main(String[] args) {
+        System.out.printf("%12s %12s %12s %12s\n", "pattern", "N", "get (s)", "recursive (s)");
+        System.out.printf("------------------------------------------------------\n");
+        for (int n = 1000; n <= 8000; n *= 2) {
+            LinkedListDeque<Integer> deque = new LinkedListDeque<>();
+            for (int i = 0; i < n; i++) {
+                deque.addLast(i);
+            }
+            int[] forward = new int[n];
+            int[] backward = new int[n];
+            int[] jumps = new int[n];
+            Random random = new Random(n);
+            for (int i = 0; i < n; i++) {
+                forward[i] = i;
+                backward[i] = n - 1 - i;
+                jumps[i] = random.nextInt(n);
+            }
+            timePattern("forward", deque, forward);
+            timePattern("backward", deque, backward);
+            timePattern("random", deque, jumps);
+        }
+    }
+
+    private static void timePattern(String pattern, LinkedListDeque<Integer> deque, int[] indices) {
+        long sink = 0;
+        Stopwatch sw = new Stopwatch();
+        for (int index : indices) {
+            sink += deque.get(index);
+        }
+        double getTime = sw.elapsedTime();
+
+        sw = new Stopwatch();
+        for (int index : indices) {
+            sink += deque.getRecursive(index);
+        }
+        double recursiveTime = sw.elapsedTime();
+
+        // 防止JIT把循环优化掉
+        if (sink == 42) {
+            System.out.println();
+        }
+        printTimingTable(pattern, indices.length, getTime, recursiveTime);
+    }
+}
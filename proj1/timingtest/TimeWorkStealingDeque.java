@@ -0,0 +1,115 @@
+package timingtest;
+
+import deque.ArrayDeque;
+import deque.WorkStealingDeque;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures work-queue throughput with one owner thread doing addLast/removeLast
+ * and 0..N-1 thief threads doing removeFirst, for WorkStealingDeque against an
+ * ArrayDeque guarded by synchronized blocks.
+ */
+public class TimeWorkStealingDeque {
+    private static final int ITEMS = 4000000;
+
+    /* The three operations the workload needs from either deque. */
+    private interface WorkQueue {
+        void push(Integer item);
+        Integer pop();
+        Integer steal();
+    }
+
+    private static class LockFreeQueue implements WorkQueue {
+        private final WorkStealingDeque<Integer> deque = new WorkStealingDeque<>();
+
+        public void push(Integer item) {
+            deque.addLast(item);
+        }
+
+        public Integer pop() {
+            return deque.removeLast();
+        }
+
+        public Integer steal() {
+            return deque.removeFirst();
+        }
+    }
+
+    private static class SynchronizedQueue implements WorkQueue {
+        private final ArrayDeque<Integer> deque = new ArrayDeque<>();
+
+        public synchronized void push(Integer item) {
+            deque.addLast(item);
+        }
+
+        public synchronized Integer pop() {
+            return deque.removeLast();
+        }
+
+        public synchronized Integer steal() {
+            return deque.removeFirst();
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        // 预热
+        timeWorkload(new LockFreeQueue(), 2);
+        timeWorkload(new SynchronizedQueue(), 2);
+
+        System.out.printf("%12s %16s %16s\n", "threads", "lock-free ops/s", "synchronized ops/s");
+        System.out.printf("------------------------------------------------------\n");
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            double lockFree = timeWorkload(new LockFreeQueue(), threads);
+            double locked = timeWorkload(new SynchronizedQueue(), threads);
+            System.out.printf("%12d %16.0f %16.0f\n", threads, lockFree, locked);
+        }
+    }
+
+    /* Returns items processed per second. The owner pushes every item and pops
+     * one of every four back; thieves steal whatever else they can reach. */
+    private static double timeWorkload(WorkQueue queue, int threads) throws InterruptedException {
+        AtomicLong processed = new AtomicLong();
+        AtomicBoolean done = new AtomicBoolean(false);
+        Thread[] thieves = new Thread[threads - 1];
+        for (int k = 0; k < thieves.length; k++) {
+            thieves[k] = new Thread(() -> {
+                long mine = 0;
+                while (true) {
+                    if (queue.steal() != null) {
+                        mine += 1;
+                    } else if (done.get()) {
+                        break;
+                    }
+                }
+                processed.addAndGet(mine);
+            });
+        }
+
+        long start = System.nanoTime();
+        for (Thread thief : thieves) {
+            thief.start();
+        }
+        long mine = 0;
+        Integer item = 0;
+        for (int i = 0; i < ITEMS; i++) {
+            queue.push(item);
+            if ((i & 3) == 0 && queue.pop() != null) {
+                mine += 1;
+            }
+        }
+        while (queue.pop() != null) {
+            mine += 1;
+        }
+        done.set(true);
+        for (Thread thief : thieves) {
+            thief.join();
+        }
+        processed.addAndGet(mine);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return processed.get() / seconds;
+    }
+}
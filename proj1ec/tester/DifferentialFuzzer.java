@@ -0,0 +1,371 @@
+package tester;
+
+import student.StudentArrayDeque;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * Runs long random operation sequences against StudentArrayDeque and
+ * ArrayDequeSolution side by side and stops at the first place they disagree.
+ *
+ * Every run is seeded, so a failure can be replayed by passing the printed
+ * seed back in. A failing sequence is shrunk (by repeatedly dropping chunks
+ * of operations that are not needed to reproduce it) and printed as the list
+ * of calls a student would type into a JUnit test.
+ *
+ * While fuzzing, a sample of the calls on each deque is timed into a per-
+ * operation latency histogram, so that a deque which is correct but slow
+ * (e.g. a resize that copies far more than it needs to) shows up as well.
+ *
+ * Usage: java tester.DifferentialFuzzer [seed] [totalOps] [traceLength]
+ */
+public class DifferentialFuzzer {
+    static final int ADD_FIRST = 0;
+    static final int ADD_LAST = 1;
+    static final int REMOVE_FIRST = 2;
+    static final int REMOVE_LAST = 3;
+    static final int GET = 4;
+    static final String[] OP_NAMES = {"addFirst", "addLast", "removeFirst", "removeLast", "get"};
+
+    /** Out of 100: adds outweigh removes so the deques grow and resize. */
+    private static final int[] OP_WEIGHTS = {27, 27, 15, 15, 16};
+    private static final int OP_BITS = 3;
+    private static final int VALUES = 1000;
+    /** Time one call in this many; timing every call would halve throughput. */
+    private static final int SAMPLE_EVERY = 16;
+
+    private static final Integer[] BOXED = new Integer[VALUES];
+
+    static {
+        for (int i = 0; i < VALUES; i += 1) {
+            BOXED[i] = i;
+        }
+    }
+
+    private final LatencyHistogram[] studentLatency = newHistograms();
+    private final LatencyHistogram[] solutionLatency = newHistograms();
+    private long sampleCounter;
+
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : System.nanoTime();
+        long totalOps = args.length > 1 ? Long.parseLong(args[1]) : 10_000_000L;
+        int traceLength = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+
+        DifferentialFuzzer fuzzer = new DifferentialFuzzer();
+        Random random = new Random(seed);
+        System.out.println("seed " + seed);
+
+        int[] trace = new int[traceLength];
+        int[] shortest = null;
+        long ran = 0;
+        long traces = 0;
+        long failures = 0;
+        long start = System.nanoTime();
+        while (ran < totalOps) {
+            Mismatch m = fuzzer.fuzz(random, trace);
+            traces += 1;
+            if (m == null) {
+                ran += trace.length;
+            } else {
+                ran += m.index + 1;
+                failures += 1;
+                if (shortest == null || m.index + 1 < shortest.length) {
+                    shortest = Arrays.copyOf(trace, m.index + 1);
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d operations in %d traces, %.2f s (%.1f million/s), %d traces failed%n",
+                ran, traces, seconds, ran / seconds / 1e6, failures);
+
+        if (shortest != null) {
+            int[] shrunk = fuzzer.shrink(shortest);
+            System.out.println();
+            System.out.println("Mismatch after " + shrunk.length + " calls (shrunk from "
+                    + shortest.length + "):");
+            System.out.print(reproducer(shrunk, fuzzer.replay(shrunk)));
+        } else {
+            System.out.println("No mismatch found.");
+        }
+
+        System.out.println();
+        fuzzer.printLatency();
+    }
+
+    /** Returns a random encoded operation. */
+    static int randomOp(Random random) {
+        int r = random.nextInt(100);
+        int op = 0;
+        while (r >= OP_WEIGHTS[op]) {
+            r -= OP_WEIGHTS[op];
+            op += 1;
+        }
+        return encode(op, random.nextInt(1 << (31 - OP_BITS)));
+    }
+
+    static int encode(int op, int arg) {
+        return (arg << OP_BITS) | op;
+    }
+
+    static int opOf(int encoded) {
+        return encoded & ((1 << OP_BITS) - 1);
+    }
+
+    static int argOf(int encoded) {
+        return encoded >>> OP_BITS;
+    }
+
+    /**
+     * Runs up to trace.length random operations on a fresh pair of deques,
+     * timing a sample of them, and records each one in trace as it goes.
+     * Returns the first mismatch, or null if the deques agreed throughout;
+     * either way trace holds the operations that were run.
+     */
+    Mismatch fuzz(Random random, int[] trace) {
+        StudentArrayDeque<Integer> student = new StudentArrayDeque<>();
+        ArrayDequeSolution<Integer> solution = new ArrayDequeSolution<>();
+        for (int i = 0; i < trace.length; i += 1) {
+            trace[i] = randomOp(random);
+            Mismatch m = step(student, solution, i, trace[i], true);
+            if (m != null) {
+                return m;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Replays ops on a fresh pair of deques, untimed, and returns the first
+     * mismatch or null. Operations are interpreted relative to the reference
+     * deque's current size (a remove on an empty deque expects null, and
+     * get's argument is reduced modulo the size), so any subsequence of a
+     * trace is itself a valid trace. That is what lets shrink drop
+     * operations freely.
+     */
+    Mismatch replay(int[] ops) {
+        StudentArrayDeque<Integer> student = new StudentArrayDeque<>();
+        ArrayDequeSolution<Integer> solution = new ArrayDequeSolution<>();
+        for (int i = 0; i < ops.length; i += 1) {
+            Mismatch m = step(student, solution, i, ops[i], false);
+            if (m != null) {
+                return m;
+            }
+        }
+        return null;
+    }
+
+    private Mismatch step(StudentArrayDeque<Integer> student, ArrayDequeSolution<Integer> solution,
+                          int i, int encoded, boolean timed) {
+        int op = opOf(encoded);
+        int arg = argOf(encoded);
+        int size = solution.size();
+        if (op == GET && size == 0) {
+            return null;
+        }
+        boolean sample = timed && (sampleCounter++ % SAMPLE_EVERY) == 0;
+
+        long t0 = sample ? System.nanoTime() : 0;
+        Integer expected = apply(solution, op, arg, size);
+        if (sample) {
+            solutionLatency[op].record(System.nanoTime() - t0);
+        }
+
+        Integer actual;
+        try {
+            t0 = sample ? System.nanoTime() : 0;
+            actual = apply(student, op, arg, size);
+            if (sample) {
+                studentLatency[op].record(System.nanoTime() - t0);
+            }
+        } catch (RuntimeException e) {
+            return new Mismatch(i, "threw " + e + ", expected " + expected);
+        }
+
+        if (!Objects.equals(expected, actual)) {
+            return new Mismatch(i, "returned " + actual + ", expected " + expected);
+        }
+        if (student.size() != solution.size()) {
+            return new Mismatch(i, "size() is " + student.size() + ", expected " + solution.size());
+        }
+        return null;
+    }
+
+    private static Integer apply(ArrayDequeSolution<Integer> deque, int op, int arg, int size) {
+        switch (op) {
+            case ADD_FIRST:
+                deque.addFirst(BOXED[arg % VALUES]);
+                return null;
+            case ADD_LAST:
+                deque.addLast(BOXED[arg % VALUES]);
+                return null;
+            case REMOVE_FIRST:
+                return size == 0 ? null : deque.removeFirst();
+            case REMOVE_LAST:
+                return size == 0 ? null : deque.removeLast();
+            default:
+                return deque.get(arg % size);
+        }
+    }
+
+    private static Integer apply(StudentArrayDeque<Integer> deque, int op, int arg, int size) {
+        switch (op) {
+            case ADD_FIRST:
+                deque.addFirst(BOXED[arg % VALUES]);
+                return null;
+            case ADD_LAST:
+                deque.addLast(BOXED[arg % VALUES]);
+                return null;
+            case REMOVE_FIRST:
+                return deque.removeFirst();
+            case REMOVE_LAST:
+                return deque.removeLast();
+            default:
+                return deque.get(arg % size);
+        }
+    }
+
+    /**
+     * Returns a short sequence that still produces a mismatch, found by
+     * cutting the trace at its first mismatch and then trying to delete
+     * chunks of it, halving the chunk size whenever no chunk can go.
+     */
+    int[] shrink(int[] ops) {
+        ops = cutAfterMismatch(ops);
+        int chunk = Math.max(1, ops.length / 2);
+        while (true) {
+            boolean removedAny = false;
+            int start = 0;
+            while (start < ops.length) {
+                int end = Math.min(ops.length, start + chunk);
+                int[] candidate = new int[ops.length - (end - start)];
+                System.arraycopy(ops, 0, candidate, 0, start);
+                System.arraycopy(ops, end, candidate, start, ops.length - end);
+                if (replay(candidate) != null) {
+                    ops = cutAfterMismatch(candidate);
+                    removedAny = true;
+                } else {
+                    start = end;
+                }
+            }
+            if (chunk == 1 && !removedAny) {
+                return ops;
+            }
+            if (!removedAny) {
+                chunk = Math.max(1, chunk / 2);
+            }
+        }
+    }
+
+    private int[] cutAfterMismatch(int[] ops) {
+        Mismatch m = replay(ops);
+        return Arrays.copyOf(ops, m.index + 1);
+    }
+
+    /** Prints ops as calls, the way a failing JUnit message would show them. */
+    static String reproducer(int[] ops, Mismatch mismatch) {
+        StringBuilder sb = new StringBuilder();
+        int size = 0;
+        for (int i = 0; i < ops.length; i += 1) {
+            int op = opOf(ops[i]);
+            int arg = argOf(ops[i]);
+            switch (op) {
+                case ADD_FIRST:
+                case ADD_LAST:
+                    sb.append(OP_NAMES[op]).append('(').append(arg % VALUES).append(")\n");
+                    size += 1;
+                    break;
+                case REMOVE_FIRST:
+                case REMOVE_LAST:
+                    sb.append(OP_NAMES[op]).append("()\n");
+                    size = Math.max(0, size - 1);
+                    break;
+                default:
+                    if (size > 0) {
+                        sb.append("get(").append(arg % size).append(")\n");
+                    }
+            }
+        }
+        sb.append("  -> ").append(mismatch.message).append('\n');
+        return sb.toString();
+    }
+
+    void printLatency() {
+        System.out.println("Latency of sampled calls, in ns (bucket upper bounds):");
+        System.out.printf("%-12s %-10s %10s %8s %8s %8s %10s%n",
+                "operation", "deque", "samples", "p50", "p99", "p99.9", "max");
+        for (int op = 0; op < OP_NAMES.length; op += 1) {
+            printLatencyRow(OP_NAMES[op], "student", studentLatency[op]);
+            printLatencyRow("", "solution", solutionLatency[op]);
+        }
+    }
+
+    private static void printLatencyRow(String op, String deque, LatencyHistogram h) {
+        System.out.printf("%-12s %-10s %10d %8d %8d %8d %10d%n", op, deque, h.count(),
+                h.percentile(0.5), h.percentile(0.99), h.percentile(0.999), h.max());
+    }
+
+    private static LatencyHistogram[] newHistograms() {
+        LatencyHistogram[] histograms = new LatencyHistogram[OP_NAMES.length];
+        for (int i = 0; i < histograms.length; i += 1) {
+            histograms[i] = new LatencyHistogram();
+        }
+        return histograms;
+    }
+
+    /** Where two deques first disagreed, and how. */
+    static class Mismatch {
+        final int index;
+        final String message;
+
+        Mismatch(int index, String message) {
+            this.index = index;
+            this.message = message;
+        }
+    }
+
+    /**
+     * Counts latencies in power-of-two buckets: bucket b holds values
+     * below 2^b, so percentiles are exact to within a factor of two, which
+     * is plenty to tell a 30 ns call from a 30 us one.
+     */
+    static class LatencyHistogram {
+        private final long[] buckets = new long[64];
+        private long count;
+        private long max;
+
+        void record(long nanos) {
+            if (nanos < 0) {
+                nanos = 0;
+            }
+            buckets[64 - Long.numberOfLeadingZeros(nanos)] += 1;
+            count += 1;
+            max = Math.max(max, nanos);
+        }
+
+        long count() {
+            return count;
+        }
+
+        long max() {
+            return max;
+        }
+
+        /** Upper bound of the bucket holding the q-th quantile. */
+        long percentile(double q) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(q * count);
+            long seen = 0;
+            for (int b = 0; b < buckets.length; b += 1) {
+                seen += buckets[b];
+                if (seen >= rank) {
+                    return b == 0 ? 0 : Math.min(max, (1L << b) - 1);
+                }
+            }
+            return max;
+        }
+    }
+}
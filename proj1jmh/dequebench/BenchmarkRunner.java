@@ -0,0 +1,24 @@
+package dequebench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs every deque benchmark with the gc profiler, which adds
+ * gc.alloc.rate and gc.alloc.rate.norm (bytes per op) next to ops/s.
+ * An optional argument narrows the run to benchmarks matching that regex,
+ * e.g. "DequeBenchmark.iterate".
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "dequebench\\..*";
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,131 @@
+package dequebench;
+
+import deque.ArrayDeque;
+import deque.LinkedListDeque;
+
+/**
+ * The deque operations the benchmarks exercise, so that one benchmark method
+ * can drive every implementation. Each JMH fork only ever sees one
+ * implementation, so calls through this interface stay monomorphic.
+ */
+interface DequeAdapter {
+    void addFirst(Integer item);
+    void addLast(Integer item);
+    Integer removeFirst();
+    Integer removeLast();
+    Integer get(int index);
+    Iterable<Integer> items();
+    Object unwrap();
+
+    /** Returns an empty deque of the named kind: "ArrayDeque",
+     *  "LinkedListDeque" or "java.util.ArrayDeque". */
+    static DequeAdapter create(String impl) {
+        switch (impl) {
+            case "ArrayDeque":
+                return new OfArrayDeque();
+            case "LinkedListDeque":
+                return new OfLinkedListDeque();
+            case "java.util.ArrayDeque":
+                return new OfJavaUtil();
+            default:
+                throw new IllegalArgumentException("unknown deque: " + impl);
+        }
+    }
+
+    final class OfArrayDeque implements DequeAdapter {
+        private final ArrayDeque<Integer> deque = new ArrayDeque<>();
+
+        public void addFirst(Integer item) {
+            deque.addFirst(item);
+        }
+
+        public void addLast(Integer item) {
+            deque.addLast(item);
+        }
+
+        public Integer removeFirst() {
+            return deque.removeFirst();
+        }
+
+        public Integer removeLast() {
+            return deque.removeLast();
+        }
+
+        public Integer get(int index) {
+            return deque.get(index);
+        }
+
+        public Iterable<Integer> items() {
+            return deque;
+        }
+
+        public Object unwrap() {
+            return deque;
+        }
+    }
+
+    final class OfLinkedListDeque implements DequeAdapter {
+        private final LinkedListDeque<Integer> deque = new LinkedListDeque<>();
+
+        public void addFirst(Integer item) {
+            deque.addFirst(item);
+        }
+
+        public void addLast(Integer item) {
+            deque.addLast(item);
+        }
+
+        public Integer removeFirst() {
+            return deque.removeFirst();
+        }
+
+        public Integer removeLast() {
+            return deque.removeLast();
+        }
+
+        public Integer get(int index) {
+            return deque.get(index);
+        }
+
+        public Iterable<Integer> items() {
+            return deque;
+        }
+
+        public Object unwrap() {
+            return deque;
+        }
+    }
+
+    /** java.util.ArrayDeque has no get(i); the indexed benchmarks leave it out. */
+    final class OfJavaUtil implements DequeAdapter {
+        private final java.util.ArrayDeque<Integer> deque = new java.util.ArrayDeque<>();
+
+        public void addFirst(Integer item) {
+            deque.addFirst(item);
+        }
+
+        public void addLast(Integer item) {
+            deque.addLast(item);
+        }
+
+        public Integer removeFirst() {
+            return deque.pollFirst();
+        }
+
+        public Integer removeLast() {
+            return deque.pollLast();
+        }
+
+        public Integer get(int index) {
+            throw new UnsupportedOperationException("java.util.ArrayDeque has no get(i)");
+        }
+
+        public Iterable<Integer> items() {
+            return deque;
+        }
+
+        public Object unwrap() {
+            return deque;
+        }
+    }
+}
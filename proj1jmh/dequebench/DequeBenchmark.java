@@ -0,0 +1,85 @@
+package dequebench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End operations and iteration on a deque that holds size items,
+ * for all three implementations. Each end-operation benchmark adds and
+ * removes one item, so the deque stays at size across invocations.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class DequeBenchmark {
+    @Param({"16", "1024", "65536"})
+    public int size;
+
+    @Param({"ArrayDeque", "LinkedListDeque", "java.util.ArrayDeque"})
+    public String impl;
+
+    private DequeAdapter deque;
+    private Integer item;
+
+    @Setup
+    public void setup() {
+        deque = DequeAdapter.create(impl);
+        for (int i = 0; i < size; i++) {
+            deque.addLast(i);
+        }
+        item = 61;
+    }
+
+    /** Queue use: enqueue at the back, dequeue at the front. */
+    @Benchmark
+    public Integer addLastRemoveFirst() {
+        deque.addLast(item);
+        return deque.removeFirst();
+    }
+
+    /** Stack use at the front end. */
+    @Benchmark
+    public Integer addFirstRemoveFirst() {
+        deque.addFirst(item);
+        return deque.removeFirst();
+    }
+
+    /** Queue use in the other direction. */
+    @Benchmark
+    public Integer addFirstRemoveLast() {
+        deque.addFirst(item);
+        return deque.removeLast();
+    }
+
+    /** All four end operations, so the ring head and tail both move. */
+    @Benchmark
+    public void mixed(Blackhole bh) {
+        deque.addFirst(item);
+        deque.addLast(item);
+        bh.consume(deque.removeLast());
+        bh.consume(deque.removeFirst());
+    }
+
+    /** One full pass with the deque's own iterator. */
+    @Benchmark
+    public void iterate(Blackhole bh) {
+        for (Integer x : deque.items()) {
+            bh.consume(x);
+        }
+    }
+}
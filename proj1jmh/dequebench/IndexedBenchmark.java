@@ -0,0 +1,84 @@
+package dequebench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * get(i) and equals, which java.util.ArrayDeque does not offer
+ * (it has no get, and its equals is identity), so only the two
+ * course deques are compared here.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class IndexedBenchmark {
+    private static final int INDICES = 1024;
+
+    @Param({"16", "1024", "65536"})
+    public int size;
+
+    @Param({"ArrayDeque", "LinkedListDeque"})
+    public String impl;
+
+    private DequeAdapter deque;
+    private DequeAdapter copy;
+    private int[] indices;
+    private int next;
+    private boolean farSide;
+
+    @Setup
+    public void setup() {
+        deque = DequeAdapter.create(impl);
+        copy = DequeAdapter.create(impl);
+        for (int i = 0; i < size; i++) {
+            deque.addLast(i);
+            copy.addLast(i);
+        }
+        Random random = new Random(61);
+        indices = new int[INDICES];
+        for (int i = 0; i < INDICES; i++) {
+            indices[i] = random.nextInt(size);
+        }
+        next = 0;
+    }
+
+    /** get at a random index, cycling through a fixed set of indices. */
+    @Benchmark
+    public Integer getRandom() {
+        next = (next + 1) & (INDICES - 1);
+        return deque.get(indices[next]);
+    }
+
+    /**
+     * get alternating between a third and two thirds of the way in. Each
+     * index is a third of the deque from both ends and from the other one,
+     * where LinkedListDeque's finger was left, so this is the worst case for
+     * a linked deque; repeating one index would let the finger make it O(1).
+     */
+    @Benchmark
+    public Integer getFar() {
+        farSide = !farSide;
+        return deque.get(farSide ? 2 * size / 3 : size / 3);
+    }
+
+    /** Two distinct deques with equal contents. */
+    @Benchmark
+    public boolean equalsEqual() {
+        return deque.unwrap().equals(copy.unwrap());
+    }
+}